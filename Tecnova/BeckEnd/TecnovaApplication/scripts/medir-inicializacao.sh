@@ -0,0 +1,89 @@
+#!/usr/bin/env bash
+#
+# Mede o tempo de inicialização e o tempo até a primeira requisição da aplicação
+# no modo padrão (jar) e no modo de inicialização rápida (AOT + AppCDS).
+#
+# Uso (a partir de Tecnova/BeckEnd/TecnovaApplication):
+#   SPRING_DATASOURCE_URL=jdbc:mysql://localhost:3306/tecnova scripts/medir-inicializacao.sh [execucoes]
+#
+# Usa o JDK de JAVA_HOME quando definido (o mesmo do build, exigido pelo arquivo AppCDS); senão, o java do PATH.
+#
+# Gera target/medicoes-inicializacao.csv (uma linha por execução) e
+# target/medicoes-inicializacao.md (medianas por modo).
+
+set -euo pipefail
+
+EXECUCOES="${1:-5}"
+PORTA="${PORTA:-18080}"
+URL_PRIMEIRA_REQUISICAO="http://localhost:${PORTA}/api/produtos"
+JAR="TecnovaApplication-0.0.1-SNAPSHOT.jar"
+CSV="target/medicoes-inicializacao.csv"
+RELATORIO="target/medicoes-inicializacao.md"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+cd "$(dirname "$0")/.."
+
+# Build com AOT, extração do jar e execução de treino do CDS
+sh ./mvnw -B -q -Pfast-startup -DskipTests package
+
+agora_ms() {
+    date +%s%3N
+}
+
+# $1 = modo, $2 = diretório, demais = comando
+medir() {
+    local modo="$1" diretorio="$2"
+    shift 2
+    local log
+    log="$(mktemp)"
+
+    local inicio
+    inicio="$(agora_ms)"
+    (cd "$diretorio" && exec "$@" --server.port="$PORTA") > "$log" 2>&1 &
+    local pid=$!
+
+    until curl -sf -o /dev/null "$URL_PRIMEIRA_REQUISICAO"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "A aplicação terminou antes de responder ($modo). Log: $log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    local primeira_requisicao_ms=$(( $(agora_ms) - inicio ))
+
+    # "Started TecnovaApplication in 3.512 seconds (process running for 3.9)"
+    local inicio_spring_s
+    inicio_spring_s="$(grep -oE 'Started TecnovaApplication in [0-9.]+' "$log" | grep -oE '[0-9.]+$' || echo "")"
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    rm -f "$log"
+
+    echo "$modo,$inicio_spring_s,$primeira_requisicao_ms" >> "$CSV"
+    echo "$modo: inicialização ${inicio_spring_s}s, primeira requisição ${primeira_requisicao_ms}ms"
+}
+
+echo "modo,inicializacao_spring_s,primeira_requisicao_ms" > "$CSV"
+
+for i in $(seq 1 "$EXECUCOES"); do
+    medir padrao target "$JAVA" -jar "$JAR"
+    medir aot-cds target/application "$JAVA" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "$JAR"
+done
+
+mediana() {
+    sort -n | awk '{ v[NR] = $1 } END { if (NR % 2) print v[(NR + 1) / 2]; else print (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+{
+    echo "# Inicialização da TecnovaApplication ($EXECUCOES execuções, medianas)"
+    echo
+    echo "| Modo | Inicialização Spring (s) | Primeira requisição (ms) |"
+    echo "|------|--------------------------|--------------------------|"
+    for modo in padrao aot-cds; do
+        spring="$(grep "^$modo," "$CSV" | cut -d, -f2 | mediana)"
+        requisicao="$(grep "^$modo," "$CSV" | cut -d, -f3 | mediana)"
+        echo "| $modo | $spring | $requisicao |"
+    done
+} > "$RELATORIO"
+
+cat "$RELATORIO"
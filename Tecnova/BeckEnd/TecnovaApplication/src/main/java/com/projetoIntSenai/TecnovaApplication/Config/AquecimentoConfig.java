@@ -0,0 +1,45 @@
+package com.projetoIntSenai.TecnovaApplication.Config;
+
+import com.projetoIntSenai.TecnovaApplication.Service.AquecimentoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+
+/**
+ * Registra a medição de latência do primeiro minuto e abre a janela quando a aplicação passa a
+ * aceitar tráfego (depois do aquecimento, quando habilitado).
+ */
+@Configuration
+public class AquecimentoConfig {
+
+    private final LatenciaPrimeiroMinutoFilter latenciaPrimeiroMinutoFilter;
+    private final AquecimentoService aquecimentoService;
+
+    public AquecimentoConfig(@Value("${tecnova.aquecimento.janela-latencia:60s}") Duration janela,
+                             MeterRegistry meterRegistry, AquecimentoService aquecimentoService) {
+        this.latenciaPrimeiroMinutoFilter = new LatenciaPrimeiroMinutoFilter(janela, meterRegistry);
+        this.aquecimentoService = aquecimentoService;
+    }
+
+    @Bean
+    public FilterRegistrationBean<LatenciaPrimeiroMinutoFilter> latenciaPrimeiroMinutoFilterRegistro() {
+        FilterRegistrationBean<LatenciaPrimeiroMinutoFilter> registro =
+                new FilterRegistrationBean<>(latenciaPrimeiroMinutoFilter);
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+
+    @EventListener
+    public void aoMudarProntidao(AvailabilityChangeEvent<ReadinessState> evento) {
+        if (evento.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+            latenciaPrimeiroMinutoFilter.iniciarJanela(aquecimentoService.isConcluido());
+        }
+    }
+}
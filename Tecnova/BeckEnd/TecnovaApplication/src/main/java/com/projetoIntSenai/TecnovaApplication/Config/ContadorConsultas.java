@@ -0,0 +1,50 @@
+package com.projetoIntSenai.TecnovaApplication.Config;
+
+/**
+ * Conta os comandos SQL executados pela thread atual (registrados pelo proxy do DataSource).
+ * Uso: Contagem contagem = ContadorConsultas.iniciar(); ...; int total = contagem.encerrar();
+ * Contagens podem ser aninhadas (ex.: um teste dentro de uma requisição monitorada): cada comando é somado a todas as ativas.
+ */
+public final class ContadorConsultas {
+
+    private static final ThreadLocal<Contagem> ATUAL = new ThreadLocal<>();
+
+    private ContadorConsultas() {}
+
+    public static Contagem iniciar() {
+        Contagem contagem = new Contagem(ATUAL.get());
+        ATUAL.set(contagem);
+        return contagem;
+    }
+
+    static void registrar() {
+        for (Contagem contagem = ATUAL.get(); contagem != null; contagem = contagem.anterior) {
+            contagem.total++;
+        }
+    }
+
+    public static final class Contagem {
+        private final Contagem anterior;
+        private int total;
+
+        private Contagem(Contagem anterior) {
+            this.anterior = anterior;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * Encerra a contagem e devolve o total de comandos executados desde iniciar().
+         */
+        public int encerrar() {
+            if (anterior == null) {
+                ATUAL.remove();
+            } else {
+                ATUAL.set(anterior);
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.projetoIntSenai.TecnovaApplication.Config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Envolve o DataSource principal com o datasource-proxy para contar os comandos SQL por thread
+ * (JPA e JdbcTemplate). Cada execução conta uma vez, inclusive um executeBatch inteiro.
+ */
+@Configuration
+public class ContagemConsultasConfig {
+
+    // Só o bean "dataSource" é envolvido; com réplica ele já roteia para primário e réplica, evitando contagem dupla
+    @Bean
+    public static BeanPostProcessor contagemConsultasDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name("tecnova")
+                            .listener(new QueryExecutionListener() {
+                                @Override
+                                public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                                }
+
+                                @Override
+                                public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                                    ContadorConsultas.registrar();
+                                }
+                            })
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tecnova.consultas", name = "monitorar", havingValue = "true")
+    public FilterRegistrationBean<OrcamentoConsultasFilter> orcamentoConsultasFilter(
+            @Value("${tecnova.consultas.orcamento-por-requisicao:15}") int orcamento, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<OrcamentoConsultasFilter> registro =
+                new FilterRegistrationBean<>(new OrcamentoConsultasFilter(orcamento, meterRegistry));
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+}
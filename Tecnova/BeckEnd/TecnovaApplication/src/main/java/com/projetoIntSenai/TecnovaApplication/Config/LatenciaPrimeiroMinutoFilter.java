@@ -0,0 +1,64 @@
+package com.projetoIntSenai.TecnovaApplication.Config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a latência das requisições da API na janela logo após a aplicação passar a aceitar tráfego.
+ * A tag "aquecido" indica se o aquecimento rodou antes da liberação, permitindo comparar implantações
+ * com e sem aquecimento em tecnova.inicializacao.latencia_primeiro_minuto.
+ */
+public class LatenciaPrimeiroMinutoFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final long janelaNanos;
+
+    // Início da janela (System.nanoTime); 0 enquanto a aplicação não aceita tráfego
+    private volatile long inicioJanela;
+    private volatile Timer timer;
+
+    public LatenciaPrimeiroMinutoFilter(Duration janela, MeterRegistry meterRegistry) {
+        this.janelaNanos = janela.toNanos();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Abre a janela de medição; só a primeira liberação de tráfego conta.
+     * @param aquecido Se o aquecimento foi concluído antes de liberar o tráfego.
+     */
+    public synchronized void iniciarJanela(boolean aquecido) {
+        if (inicioJanela != 0) {
+            return;
+        }
+        this.timer = Timer.builder("tecnova.inicializacao.latencia_primeiro_minuto")
+                .description("Latência das requisições logo após a aplicação aceitar tráfego")
+                .tag("aquecido", String.valueOf(aquecido))
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.inicioJanela = System.nanoTime();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        long abertura = inicioJanela;
+        boolean naJanela = abertura != 0 && inicio - abertura < janelaNanos;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (naJanela) {
+                timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
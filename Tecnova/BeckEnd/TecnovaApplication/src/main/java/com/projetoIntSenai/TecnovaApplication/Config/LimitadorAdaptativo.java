@@ -0,0 +1,136 @@
+package com.projetoIntSenai.TecnovaApplication.Config;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite de concorrência adaptativo (AIMD guiado por latência), decidido por janela de amostragem.
+ * As latências das requisições concluídas são acumuladas em uma janela de pelo menos janelaMs (e de pelo
+ * menos duas vezes a latência de longo prazo) com no mínimo minimoAmostras amostras. Ao fechar a janela,
+ * o percentil configurado é comparado com a média de longo prazo: o limite é reduzido uma única vez se a
+ * janela teve falha, passou da latência máxima ou subiu além da tolerância; caso contrário, cresce 1 por
+ * requisição da janela que encontrou o limite em uso. Uma pausa de GC ou uma rajada de requisições lentas
+ * custa no máximo uma redução por janela.
+ */
+public class LimitadorAdaptativo {
+
+    // Peso de cada janela na média de longo prazo da latência
+    private static final double SUAVIZACAO = 0.1;
+
+    // Janela fecha antes do tempo quando acumula esta quantidade de amostras
+    private static final int CAPACIDADE_JANELA = 1024;
+
+    private final String nome;
+    private final int minimo;
+    private final int maximo;
+    private final double fatorReducao;
+    private final double toleranciaLatencia;
+    private final long latenciaMaximaNanos;
+    private final long janelaNanos;
+    private final int minimoAmostras;
+    private final double percentil;
+    private final LongSupplier relogio;
+
+    private double limite;
+    private int emUso;
+    private double latenciaLongoPrazoNanos;
+    private long rejeitadas;
+
+    // Janela atual
+    private final long[] amostras = new long[CAPACIDADE_JANELA];
+    private int quantidadeAmostras;
+    private int comDemanda;
+    private boolean sobrecarga;
+    private long inicioJanela;
+
+    public LimitadorAdaptativo(String nome, int inicial, int minimo, int maximo, double fatorReducao,
+                               double toleranciaLatencia, long latenciaMaximaMs,
+                               long janelaMs, int minimoAmostras, double percentil) {
+        this(nome, inicial, minimo, maximo, fatorReducao, toleranciaLatencia, latenciaMaximaMs,
+                janelaMs, minimoAmostras, percentil, System::nanoTime);
+    }
+
+    LimitadorAdaptativo(String nome, int inicial, int minimo, int maximo, double fatorReducao,
+                        double toleranciaLatencia, long latenciaMaximaMs,
+                        long janelaMs, int minimoAmostras, double percentil, LongSupplier relogio) {
+        this.nome = nome;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.fatorReducao = fatorReducao;
+        this.toleranciaLatencia = toleranciaLatencia;
+        this.latenciaMaximaNanos = latenciaMaximaMs * 1_000_000L;
+        this.janelaNanos = janelaMs * 1_000_000L;
+        this.minimoAmostras = Math.max(1, Math.min(minimoAmostras, CAPACIDADE_JANELA));
+        this.percentil = percentil;
+        this.relogio = relogio;
+        this.limite = Math.max(minimo, Math.min(maximo, inicial));
+        this.inicioJanela = relogio.getAsLong();
+    }
+
+    /**
+     * @return true se a requisição pode prosseguir; nesse caso liberar(...) deve ser chamado ao final.
+     */
+    public synchronized boolean tentarAdquirir() {
+        if (emUso >= (int) limite) {
+            rejeitadas++;
+            return false;
+        }
+        emUso++;
+        return true;
+    }
+
+    /**
+     * Registra o fim de uma requisição admitida.
+     * @param latenciaNanos Duração da requisição.
+     * @param falhou true se a requisição terminou com erro do servidor.
+     */
+    public synchronized void liberar(long latenciaNanos, boolean falhou) {
+        int emUsoAntes = emUso;
+        emUso--;
+
+        if (falhou || (latenciaMaximaNanos > 0 && latenciaNanos > latenciaMaximaNanos)) {
+            sobrecarga = true;
+        }
+        amostras[quantidadeAmostras++] = latenciaNanos;
+        // Só cresce quando o limite está sendo de fato usado
+        if (emUsoAntes * 2 >= limite) {
+            comDemanda++;
+        }
+
+        long agora = relogio.getAsLong();
+        long duracaoJanela = Math.max(janelaNanos, (long) (latenciaLongoPrazoNanos * 2));
+        if (quantidadeAmostras == CAPACIDADE_JANELA
+                || (quantidadeAmostras >= minimoAmostras && agora - inicioJanela >= duracaoJanela)) {
+            fecharJanela(agora);
+        }
+    }
+
+    private void fecharJanela(long agora) {
+        long[] ordenadas = Arrays.copyOf(amostras, quantidadeAmostras);
+        Arrays.sort(ordenadas);
+        long latenciaJanela = ordenadas[(int) Math.ceil(percentil * ordenadas.length) - 1];
+
+        if (latenciaLongoPrazoNanos == 0) {
+            latenciaLongoPrazoNanos = latenciaJanela;
+        }
+
+        if (sobrecarga || latenciaJanela > latenciaLongoPrazoNanos * toleranciaLatencia) {
+            limite = Math.max(minimo, limite * fatorReducao);
+        } else {
+            limite = Math.min(maximo, limite + comDemanda);
+        }
+        // A referência acompanha mudanças duradouras de latência (ex.: catálogo maior), não só as janelas saudáveis
+        latenciaLongoPrazoNanos += (latenciaJanela - latenciaLongoPrazoNanos) * SUAVIZACAO;
+
+        quantidadeAmostras = 0;
+        comDemanda = 0;
+        sobrecarga = false;
+        inicioJanela = agora;
+    }
+
+    public String getNome() { return nome; }
+    public synchronized int getLimite() { return (int) limite; }
+    public synchronized int getEmUso() { return emUso; }
+    public synchronized long getRejeitadas() { return rejeitadas; }
+    public synchronized double getLatenciaLongoPrazoMs() { return latenciaLongoPrazoNanos / 1_000_000.0; }
+}
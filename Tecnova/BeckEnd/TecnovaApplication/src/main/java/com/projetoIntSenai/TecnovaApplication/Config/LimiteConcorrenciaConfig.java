@@ -0,0 +1,61 @@
+package com.projetoIntSenai.TecnovaApplication.Config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registra o filtro de limite de concorrência e as métricas de cada partição
+ * (tecnova.limite.concorrencia, tecnova.limite.em_uso, tecnova.limite.rejeitadas, tecnova.limite.latencia_media).
+ */
+@Configuration
+@EnableConfigurationProperties(LimiteConcorrenciaProperties.class)
+@ConditionalOnProperty(prefix = "tecnova.limites", name = "habilitado", matchIfMissing = true)
+public class LimiteConcorrenciaConfig {
+
+    @Bean
+    public FilterRegistrationBean<LimiteConcorrenciaFilter> limiteConcorrenciaFilter(
+            LimiteConcorrenciaProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        LimitadorAdaptativo leitura = properties.getLeitura().criarLimitador("leitura");
+        LimitadorAdaptativo listagem = properties.getListagem().criarLimitador("listagem");
+        LimitadorAdaptativo upload = properties.getUpload().criarLimitador("upload");
+        LimitadorAdaptativo importacao = properties.getImportacao().criarLimitador("importacao");
+        for (LimitadorAdaptativo limitador : new LimitadorAdaptativo[]{leitura, listagem, upload, importacao}) {
+            registrarMetricas(limitador, meterRegistry);
+        }
+
+        FilterRegistrationBean<LimiteConcorrenciaFilter> registro = new FilterRegistrationBean<>(
+                new LimiteConcorrenciaFilter(leitura, listagem, upload, importacao, properties.getRetryAfterSegundos(), objectMapper));
+        registro.addUrlPatterns("/api/*");
+        // Antes dos demais filtros da aplicação, para rejeitar o quanto antes
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+
+    private void registrarMetricas(LimitadorAdaptativo limitador, MeterRegistry registry) {
+        Gauge.builder("tecnova.limite.concorrencia", limitador, LimitadorAdaptativo::getLimite)
+                .tag("particao", limitador.getNome())
+                .description("Limite atual de requisições simultâneas")
+                .register(registry);
+        Gauge.builder("tecnova.limite.em_uso", limitador, LimitadorAdaptativo::getEmUso)
+                .tag("particao", limitador.getNome())
+                .description("Requisições em andamento")
+                .register(registry);
+        Gauge.builder("tecnova.limite.latencia_media", limitador, LimitadorAdaptativo::getLatenciaLongoPrazoMs)
+                .tag("particao", limitador.getNome())
+                .baseUnit("milliseconds")
+                .description("Média de longo prazo da latência usada como referência")
+                .register(registry);
+        FunctionCounter.builder("tecnova.limite.rejeitadas", limitador, LimitadorAdaptativo::getRejeitadas)
+                .tag("particao", limitador.getNome())
+                .description("Requisições rejeitadas com 503")
+                .register(registry);
+    }
+}
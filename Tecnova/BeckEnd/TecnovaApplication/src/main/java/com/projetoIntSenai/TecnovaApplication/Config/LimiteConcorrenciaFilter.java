@@ -0,0 +1,96 @@
+package com.projetoIntSenai.TecnovaApplication.Config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projetoIntSenai.TecnovaApplication.Dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Aplica o limite de concorrência da partição da requisição (leitura, listagem, upload ou importação).
+ * Quando o limite está esgotado, responde 503 imediatamente com Retry-After, em vez de enfileirar.
+ */
+public class LimiteConcorrenciaFilter extends OncePerRequestFilter {
+
+    private final LimitadorAdaptativo leitura;
+    private final LimitadorAdaptativo listagem;
+    private final LimitadorAdaptativo upload;
+    private final LimitadorAdaptativo importacao;
+    private final int retryAfterSegundos;
+    private final ObjectMapper objectMapper;
+
+    public LimiteConcorrenciaFilter(LimitadorAdaptativo leitura, LimitadorAdaptativo listagem, LimitadorAdaptativo upload,
+                                    LimitadorAdaptativo importacao, int retryAfterSegundos, ObjectMapper objectMapper) {
+        this.leitura = leitura;
+        this.listagem = listagem;
+        this.upload = upload;
+        this.importacao = importacao;
+        this.retryAfterSegundos = retryAfterSegundos;
+        this.objectMapper = objectMapper;
+    }
+
+    // O stream de eventos fica aberto por minutos sem ocupar thread; tem limite próprio (tecnova.eventos.maximo-assinantes)
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().equals("/api/produtos/eventos");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        LimitadorAdaptativo limitador = particao(request);
+        if (!limitador.tentarAdquirir()) {
+            rejeitar(response, limitador);
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        boolean falhou = true;
+        try {
+            chain.doFilter(request, response);
+            falhou = response.getStatus() >= 500;
+        } finally {
+            limitador.liberar(System.nanoTime() - inicio, falhou);
+        }
+    }
+
+    LimitadorAdaptativo particao(HttpServletRequest request) {
+        String caminho = request.getRequestURI();
+        String metodo = request.getMethod();
+        if (caminho.startsWith("/api/produtos/importar") || caminho.startsWith("/api/produtos/precos-estoque")
+                || caminho.startsWith("/api/produtos/exclusao-em-massa")) {
+            return importacao;
+        }
+        // Catálogo completo (qualquer formato ou ?fields=), lote (GET ou POST com os IDs no corpo) e sincronização:
+        // custo proporcional ao volume, separado das leituras pontuais (detalhe, busca, imagens)
+        if (caminho.equals("/api/produtos/lote")
+                || (("GET".equals(metodo) || "HEAD".equals(metodo))
+                && (caminho.equals("/api/produtos") || caminho.equals("/api/produtos/alteracoes")))) {
+            return listagem;
+        }
+        if ("GET".equals(metodo) || "HEAD".equals(metodo)) {
+            return leitura;
+        }
+        return upload;
+    }
+
+    private void rejeitar(HttpServletResponse response, LimitadorAdaptativo limitador) throws IOException {
+        ErrorResponse error = new ErrorResponse(
+                "SERVICO_SOBRECARREGADO",
+                "Limite de requisições simultâneas atingido (" + limitador.getNome() + "). Tente novamente em instantes.",
+                HttpStatus.SERVICE_UNAVAILABLE.value()
+        );
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSegundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
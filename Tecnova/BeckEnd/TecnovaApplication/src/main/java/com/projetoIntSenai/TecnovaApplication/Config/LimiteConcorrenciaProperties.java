@@ -0,0 +1,91 @@
+package com.projetoIntSenai.TecnovaApplication.Config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limites de concorrência por partição (prefixo "tecnova.limites").
+ * Leituras pontuais, listagens do catálogo, uploads e importações/operações em massa têm limites independentes,
+ * para que escritas pesadas e listagens completas não consumam as threads e conexões das leituras baratas
+ * (nem puxem para cima a latência que guia o limite delas).
+ */
+@ConfigurationProperties(prefix = "tecnova.limites")
+public class LimiteConcorrenciaProperties {
+
+    private boolean habilitado = true;
+
+    // Valor do header Retry-After nas respostas 503
+    private int retryAfterSegundos = 1;
+
+    private Particao leitura = new Particao(100, 20, 400, 0);
+    private Particao listagem = new Particao(20, 4, 80, 0);
+    private Particao upload = new Particao(10, 2, 40, 0);
+    private Particao importacao = new Particao(2, 1, 4, 0);
+
+    public static class Particao {
+        private int inicial;
+        private int minimo;
+        private int maximo;
+
+        // Fator aplicado ao limite quando há sinal de sobrecarga
+        private double fatorReducao = 0.9;
+
+        // Latência acima de (média de longo prazo x tolerância) é tratada como sobrecarga
+        private double toleranciaLatencia = 2.0;
+
+        // Latência absoluta tratada como sobrecarga (0 = desabilitado)
+        private long latenciaMaximaMs;
+
+        // Janela de amostragem: o limite muda no máximo uma vez por janela
+        private long janelaMs = 1000;
+        private int minimoAmostras = 10;
+
+        // Percentil das latências da janela comparado com a média de longo prazo
+        private double percentil = 0.9;
+
+        public Particao() {}
+
+        public Particao(int inicial, int minimo, int maximo, long latenciaMaximaMs) {
+            this.inicial = inicial;
+            this.minimo = minimo;
+            this.maximo = maximo;
+            this.latenciaMaximaMs = latenciaMaximaMs;
+        }
+
+        public LimitadorAdaptativo criarLimitador(String nome) {
+            return new LimitadorAdaptativo(nome, inicial, minimo, maximo, fatorReducao, toleranciaLatencia, latenciaMaximaMs,
+                    janelaMs, minimoAmostras, percentil);
+        }
+
+        public int getInicial() { return inicial; }
+        public void setInicial(int inicial) { this.inicial = inicial; }
+        public int getMinimo() { return minimo; }
+        public void setMinimo(int minimo) { this.minimo = minimo; }
+        public int getMaximo() { return maximo; }
+        public void setMaximo(int maximo) { this.maximo = maximo; }
+        public double getFatorReducao() { return fatorReducao; }
+        public void setFatorReducao(double fatorReducao) { this.fatorReducao = fatorReducao; }
+        public double getToleranciaLatencia() { return toleranciaLatencia; }
+        public void setToleranciaLatencia(double toleranciaLatencia) { this.toleranciaLatencia = toleranciaLatencia; }
+        public long getLatenciaMaximaMs() { return latenciaMaximaMs; }
+        public void setLatenciaMaximaMs(long latenciaMaximaMs) { this.latenciaMaximaMs = latenciaMaximaMs; }
+        public long getJanelaMs() { return janelaMs; }
+        public void setJanelaMs(long janelaMs) { this.janelaMs = janelaMs; }
+        public int getMinimoAmostras() { return minimoAmostras; }
+        public void setMinimoAmostras(int minimoAmostras) { this.minimoAmostras = minimoAmostras; }
+        public double getPercentil() { return percentil; }
+        public void setPercentil(double percentil) { this.percentil = percentil; }
+    }
+
+    public boolean isHabilitado() { return habilitado; }
+    public void setHabilitado(boolean habilitado) { this.habilitado = habilitado; }
+    public int getRetryAfterSegundos() { return retryAfterSegundos; }
+    public void setRetryAfterSegundos(int retryAfterSegundos) { this.retryAfterSegundos = retryAfterSegundos; }
+    public Particao getLeitura() { return leitura; }
+    public void setLeitura(Particao leitura) { this.leitura = leitura; }
+    public Particao getListagem() { return listagem; }
+    public void setListagem(Particao listagem) { this.listagem = listagem; }
+    public Particao getUpload() { return upload; }
+    public void setUpload(Particao upload) { this.upload = upload; }
+    public Particao getImportacao() { return importacao; }
+    public void setImportacao(Particao importacao) { this.importacao = importacao; }
+}
@@ -0,0 +1,50 @@
+package com.projetoIntSenai.TecnovaApplication.Config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Conta os comandos SQL de cada requisição e registra um aviso quando o orçamento é ultrapassado,
+ * o que normalmente indica um N+1 (ex.: coleção LAZY percorrida por item de uma listagem).
+ */
+public class OrcamentoConsultasFilter extends OncePerRequestFilter {
+
+    private final int orcamento;
+    private final DistributionSummary consultasPorRequisicao;
+    private final Counter acimaDoOrcamento;
+
+    public OrcamentoConsultasFilter(int orcamento, MeterRegistry meterRegistry) {
+        this.orcamento = orcamento;
+        this.consultasPorRequisicao = DistributionSummary.builder("tecnova.consultas.por_requisicao")
+                .description("Comandos SQL executados por requisição")
+                .register(meterRegistry);
+        this.acimaDoOrcamento = Counter.builder("tecnova.consultas.acima_orcamento")
+                .description("Requisições que executaram mais comandos SQL que o orçamento")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContadorConsultas.Contagem contagem = ContadorConsultas.iniciar();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int total = contagem.encerrar();
+            consultasPorRequisicao.record(total);
+            if (total > orcamento) {
+                acimaDoOrcamento.increment();
+                System.err.println("[consultas] " + request.getMethod() + " " + request.getRequestURI()
+                        + " executou " + total + " comandos SQL (orçamento: " + orcamento + ")");
+            }
+        }
+    }
+}
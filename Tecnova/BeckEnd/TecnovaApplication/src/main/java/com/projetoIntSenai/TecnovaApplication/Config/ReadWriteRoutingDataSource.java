@@ -0,0 +1,51 @@
+package com.projetoIntSenai.TecnovaApplication.Config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * DataSource que envia transações somente leitura (@Transactional(readOnly = true)) para a réplica
+ * e todo o resto para o primário.
+ * As leituras voltam para o primário quando a réplica está atrasada/indisponível ou quando o
+ * cliente acabou de fazer uma escrita (read-your-writes).
+ * Deve ser usado atrás de um LazyConnectionDataSourceProxy, para que a conexão só seja escolhida
+ * depois que a transação já foi marcada como somente leitura.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino { PRIMARIO, REPLICA }
+
+    private static final ThreadLocal<Boolean> FORCAR_PRIMARIO = new ThreadLocal<>();
+
+    private final BooleanSupplier replicaDisponivel;
+
+    public ReadWriteRoutingDataSource(DataSource primario, DataSource replica, BooleanSupplier replicaDisponivel) {
+        this.replicaDisponivel = replicaDisponivel;
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+    }
+
+    /**
+     * Faz com que as leituras da thread atual usem o primário (ex.: cliente que acabou de escrever).
+     */
+    public static void forcarPrimario() {
+        FORCAR_PRIMARIO.set(Boolean.TRUE);
+    }
+
+    public static void limpar() {
+        FORCAR_PRIMARIO.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean somenteLeitura = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (somenteLeitura && !Boolean.TRUE.equals(FORCAR_PRIMARIO.get()) && replicaDisponivel.getAsBoolean()) {
+            return Destino.REPLICA;
+        }
+        return Destino.PRIMARIO;
+    }
+}
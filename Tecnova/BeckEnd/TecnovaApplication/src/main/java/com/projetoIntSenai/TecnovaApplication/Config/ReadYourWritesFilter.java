@@ -0,0 +1,78 @@
+package com.projetoIntSenai.TecnovaApplication.Config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Garante read-your-writes quando há réplica de leitura: depois de uma escrita (POST/PUT/PATCH/DELETE),
+ * o cliente recebe um cookie e, enquanto ele for válido, suas leituras são atendidas pelo primário.
+ * O cookie carrega o instante de expiração, então funciona com várias instâncias da aplicação.
+ * O frontend fica em outra origem: as chamadas à API precisam de fetch(..., { credentials: 'include' })
+ * para o navegador guardar e reenviar o cookie.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "tecnova-primario-ate";
+
+    // POSTs que só leem (o corpo carrega a consulta): não forçam o primário nem emitem o cookie
+    private static final Set<String> LEITURAS_POR_POST = Set.of("/api/produtos/lote");
+
+    private final long janelaSegundos;
+
+    public ReadYourWritesFilter(long janelaSegundos) {
+        this.janelaSegundos = janelaSegundos;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean escrita = isEscrita(request);
+        if (escrita) {
+            Cookie cookie = new Cookie(COOKIE, String.valueOf(System.currentTimeMillis() + janelaSegundos * 1000));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) janelaSegundos);
+            response.addCookie(cookie);
+        }
+
+        if (escrita || escreveuRecentemente(request)) {
+            ReadWriteRoutingDataSource.forcarPrimario();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.limpar();
+        }
+    }
+
+    private boolean isEscrita(HttpServletRequest request) {
+        String metodo = request.getMethod();
+        if ("POST".equals(metodo)) {
+            return !LEITURAS_POR_POST.contains(request.getRequestURI().substring(request.getContextPath().length()));
+        }
+        return "PUT".equals(metodo) || "PATCH".equals(metodo) || "DELETE".equals(metodo);
+    }
+
+    private boolean escreveuRecentemente(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return false;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
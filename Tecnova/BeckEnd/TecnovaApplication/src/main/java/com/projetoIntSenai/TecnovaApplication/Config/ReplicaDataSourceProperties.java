@@ -0,0 +1,50 @@
+package com.projetoIntSenai.TecnovaApplication.Config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuração da réplica de leitura (prefixo "tecnova.datasource.replica").
+ * O roteamento leitura/escrita só é ativado quando a URL da réplica é informada.
+ */
+@ConfigurationProperties(prefix = "tecnova.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private String url;
+    private String username;
+    private String password;
+    private String driverClassName;
+
+    // Tamanho do pool de conexões da réplica
+    private int maximumPoolSize = 10;
+
+    // Atraso máximo de replicação aceito antes de desviar as leituras para o primário
+    private long maxLagSeconds = 5;
+
+    // Intervalo entre as verificações de atraso da réplica
+    private long lagCheckIntervalMs = 5000;
+
+    // Consulta que retorna o atraso da réplica em segundos. Se vazia, usa SHOW REPLICA STATUS (MySQL 8).
+    private String lagQuery;
+
+    // Por quanto tempo as leituras de um cliente vão para o primário depois de uma escrita dele
+    private long readYourWritesSeconds = 10;
+
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+    public String getDriverClassName() { return driverClassName; }
+    public void setDriverClassName(String driverClassName) { this.driverClassName = driverClassName; }
+    public int getMaximumPoolSize() { return maximumPoolSize; }
+    public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+    public long getMaxLagSeconds() { return maxLagSeconds; }
+    public void setMaxLagSeconds(long maxLagSeconds) { this.maxLagSeconds = maxLagSeconds; }
+    public long getLagCheckIntervalMs() { return lagCheckIntervalMs; }
+    public void setLagCheckIntervalMs(long lagCheckIntervalMs) { this.lagCheckIntervalMs = lagCheckIntervalMs; }
+    public String getLagQuery() { return lagQuery; }
+    public void setLagQuery(String lagQuery) { this.lagQuery = lagQuery; }
+    public long getReadYourWritesSeconds() { return readYourWritesSeconds; }
+    public void setReadYourWritesSeconds(long readYourWritesSeconds) { this.readYourWritesSeconds = readYourWritesSeconds; }
+}
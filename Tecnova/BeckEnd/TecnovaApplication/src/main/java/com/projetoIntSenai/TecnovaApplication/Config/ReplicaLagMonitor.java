@@ -0,0 +1,64 @@
+package com.projetoIntSenai.TecnovaApplication.Config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Verifica periodicamente o atraso de replicação da réplica de leitura.
+ * Enquanto o atraso estiver acima do limite (ou a réplica não responder), as leituras vão para o primário.
+ */
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replica;
+    private final ReplicaDataSourceProperties properties;
+    private volatile boolean disponivel = false;
+    private volatile Long ultimoAtrasoSegundos;
+
+    public ReplicaLagMonitor(DataSource replica, ReplicaDataSourceProperties properties) {
+        this.replica = new JdbcTemplate(replica);
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${tecnova.datasource.replica.lag-check-interval-ms:5000}")
+    public void verificar() {
+        try {
+            Long atraso = consultarAtrasoSegundos();
+            ultimoAtrasoSegundos = atraso;
+            boolean estavaDisponivel = disponivel;
+            disponivel = atraso != null && atraso <= properties.getMaxLagSeconds();
+            if (estavaDisponivel && !disponivel) {
+                System.err.println("Réplica de leitura fora do limite de atraso (" + atraso + "s). Leituras redirecionadas ao primário.");
+            }
+        } catch (Exception e) {
+            if (disponivel) {
+                System.err.println("Falha ao verificar a réplica de leitura: " + e.getMessage() + ". Leituras redirecionadas ao primário.");
+            }
+            disponivel = false;
+            ultimoAtrasoSegundos = null;
+        }
+    }
+
+    public boolean isDisponivel() {
+        return disponivel;
+    }
+
+    public Long getUltimoAtrasoSegundos() {
+        return ultimoAtrasoSegundos;
+    }
+
+    private Long consultarAtrasoSegundos() {
+        if (StringUtils.hasText(properties.getLagQuery())) {
+            return replica.queryForObject(properties.getLagQuery(), Long.class);
+        }
+        // MySQL 8: Seconds_Behind_Source é nulo quando a replicação está parada
+        List<Long> atrasos = replica.query("SHOW REPLICA STATUS", (rs, rowNum) -> {
+            long valor = rs.getLong("Seconds_Behind_Source");
+            return rs.wasNull() ? null : valor;
+        });
+        return atrasos.isEmpty() ? null : atrasos.get(0);
+    }
+}
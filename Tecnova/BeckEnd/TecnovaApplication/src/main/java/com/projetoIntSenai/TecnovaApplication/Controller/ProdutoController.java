@@ -3,22 +3,41 @@
 
 package com.projetoIntSenai.TecnovaApplication.Controller;
 
+import com.projetoIntSenai.TecnovaApplication.Dto.AlteracoesCatalogoDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.AtualizacaoPrecoEstoqueDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.CatalogoCompactoDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.LoteProdutosDto;
 import com.projetoIntSenai.TecnovaApplication.Dto.ProdutoDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.ResultadoAtualizacaoEmMassaDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.ResultadoExclusaoEmMassaDto;
 import com.projetoIntSenai.TecnovaApplication.Entity.Produto;
+import com.projetoIntSenai.TecnovaApplication.Service.AtualizacaoEmMassaService;
+import com.projetoIntSenai.TecnovaApplication.Service.CamposProdutoService;
+import com.projetoIntSenai.TecnovaApplication.Service.EventosCatalogoService;
+import com.projetoIntSenai.TecnovaApplication.Service.ExclusaoEmMassaService;
 import com.projetoIntSenai.TecnovaApplication.Service.ProdutoService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -26,9 +45,32 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = {"http://127.0.0.1:5500", "http://localhost:5500"})
 public class ProdutoController {
 
+    private static final int LIMITE_ALTERACOES_MAXIMO = 1000;
+
+    private static final int LIMITE_BUSCA_MAXIMO = 100;
+
+    // Máximo de IDs por requisição em /lote
+    public static final int LIMITE_LOTE_MAXIMO = 100;
+
+    // JSON com a URL base das imagens enviada uma única vez (ver CatalogoCompactoDto).
+    // Smile (application/x-jackson-smile) e CBOR (application/cbor) também são aceitos no header Accept.
+    public static final String MEDIA_TYPE_COMPACTO = "application/vnd.tecnova.compacto+json";
+
     @Autowired
     private ProdutoService produtoService;
 
+    @Autowired
+    private AtualizacaoEmMassaService atualizacaoEmMassaService;
+
+    @Autowired
+    private ExclusaoEmMassaService exclusaoEmMassaService;
+
+    @Autowired
+    private CamposProdutoService camposProdutoService;
+
+    @Autowired
+    private EventosCatalogoService eventosCatalogoService;
+
     @GetMapping
     public ResponseEntity<List<ProdutoDto>> getAllProdutos() {
         List<Produto> produtos = produtoService.findAll();
@@ -38,14 +80,134 @@ public class ProdutoController {
         return ResponseEntity.ok(dtos);
     }
 
+    // Só os campos pedidos, ex.: ?fields=id,nome,preco,quantidade (as imagens só são consultadas se pedidas)
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllProdutosCampos(@RequestParam String fields) {
+        return ResponseEntity.ok(camposProdutoService.listar(CamposProdutoService.interpretarCampos(fields)));
+    }
+
+    @GetMapping(produces = MEDIA_TYPE_COMPACTO)
+    public ResponseEntity<CatalogoCompactoDto> getAllProdutosCompacto() {
+        List<ProdutoDto> dtos = produtoService.findAll().stream()
+                .map(ProdutoDto::fromEntityCompacto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(new CatalogoCompactoDto(ProdutoDto.URL_BASE_IMAGENS, dtos));
+    }
+
+    // Busca pelo início do nome (campo de busca do front-end): GET /search?nome=Smart
+    @GetMapping("/search")
+    public ResponseEntity<List<ProdutoDto>> buscarProdutos(
+            @RequestParam String nome,
+            @RequestParam(defaultValue = "50") int limite) {
+        int limiteAjustado = Math.max(1, Math.min(limite, LIMITE_BUSCA_MAXIMO));
+        List<ProdutoDto> dtos = produtoService.buscarPorPrefixoDoNome(nome, limiteAjustado).stream()
+                .map(ProdutoDto::fromEntity)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(dtos);
+    }
+
+    // Sincronização incremental: produtos criados/alterados e IDs excluídos desde a data ou token informado
+    @GetMapping("/alteracoes")
+    public ResponseEntity<AlteracoesCatalogoDto> getAlteracoes(
+            @RequestParam(required = false) String desde,
+            @RequestParam(defaultValue = "500") int limite) {
+        int limiteAjustado = Math.max(1, Math.min(limite, LIMITE_ALTERACOES_MAXIMO));
+        return ResponseEntity.ok(produtoService.buscarAlteracoes(desde, limiteAjustado));
+    }
+
+    // Stream SSE com os eventos do catálogo (criado, atualizado, excluido, estoque_alterado).
+    // O EventSource do navegador reenvia o último ID em Last-Event-ID ao reconectar.
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> getEventos(@RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        try {
+            return ResponseEntity.ok(eventosCatalogoService.assinar(ultimoEventoId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+    }
+
+    // Vários produtos em uma requisição (carrinho, favoritos, comparação): GET /lote?ids=1,2,3
+    @GetMapping("/lote")
+    public ResponseEntity<LoteProdutosDto> getProdutosEmLote(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(buscarLote(ids));
+    }
+
+    // Mesma consulta com os IDs no corpo ([1, 2, 3]), para listas que não cabem na URL
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LoteProdutosDto> postProdutosEmLote(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(buscarLote(ids));
+    }
+
+    // Detalhe com ETag/Last-Modified derivados de dataAtualizacao. Com If-None-Match ou If-Modified-Since,
+    // a versão é conferida com uma consulta só da data; se o cliente já tem a versão atual, a resposta é 304 sem corpo.
     @GetMapping("/{id}")
-    public ResponseEntity<ProdutoDto> getProdutoById(@PathVariable Long id) {
+    public ResponseEntity<ProdutoDto> getProdutoById(@PathVariable Long id, WebRequest request) {
+        ResponseEntity<ProdutoDto> naoModificado = verificarNaoModificado(id, request, false);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
         return produtoService.findById(id)
-                .map(ProdutoDto::fromEntity)
+                .map(produto -> comValidadores(ResponseEntity.ok(), produto.getDataAtualizacao(), false)
+                        .body(ProdutoDto.fromEntity(produto)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getProdutoByIdCampos(@PathVariable Long id, @RequestParam String fields) {
+        return camposProdutoService.buscarPorId(id, CamposProdutoService.interpretarCampos(fields))
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Versão compacta do detalhe: o produto vem como único item de "produtos"
+    @GetMapping(value = "/{id}", produces = MEDIA_TYPE_COMPACTO)
+    public ResponseEntity<CatalogoCompactoDto> getProdutoByIdCompacto(@PathVariable Long id, WebRequest request) {
+        ResponseEntity<CatalogoCompactoDto> naoModificado = verificarNaoModificado(id, request, true);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
+        return produtoService.findById(id)
+                .map(produto -> comValidadores(ResponseEntity.ok(), produto.getDataAtualizacao(), true)
+                        .body(new CatalogoCompactoDto(ProdutoDto.URL_BASE_IMAGENS, List.of(ProdutoDto.fromEntityCompacto(produto)))))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Responde 304 (ou 404) usando apenas a versão do produto, sem carregar o produto e as imagens.
+     * @return A resposta pronta, ou null se o produto precisa ser carregado e enviado.
+     */
+    private <T> ResponseEntity<T> verificarNaoModificado(Long id, WebRequest request, boolean compacto) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null && request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) == null) {
+            return null;
+        }
+        Optional<LocalDateTime> versao = produtoService.findVersaoById(id);
+        if (versao.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(etagDetalhe(versao.get(), compacto), versao.get().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())) {
+            return comValidadores(ResponseEntity.status(HttpStatus.NOT_MODIFIED), versao.get(), compacto).build();
+        }
+        return null;
+    }
+
+    private static <B extends ResponseEntity.HeadersBuilder<B>> B comValidadores(B resposta, LocalDateTime versao, boolean compacto) {
+        if (versao == null) {
+            return resposta;
+        }
+        // Fraco: JSON, Smile e CBOR da mesma versão são equivalentes, mas não idênticos byte a byte
+        return resposta.eTag(etagDetalhe(versao, compacto))
+                .lastModified(versao.atZone(ZoneId.systemDefault()))
+                .varyBy(HttpHeaders.ACCEPT);
+    }
+
+    // W/"<dataAtualizacao em microssegundos>", com sufixo para a representação compacta
+    private static String etagDetalhe(LocalDateTime versao, boolean compacto) {
+        long micros = versao.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + versao.getNano() / 1_000;
+        return "W/\"" + micros + (compacto ? "-compacto" : "") + "\"";
+    }
+
     // Endpoint para criar um único produto com upload de arquivos
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<ProdutoDto> createProduto(
@@ -56,9 +218,18 @@ public class ProdutoController {
     }
 
     // NOVO ENDPOINT PARA IMPORTAÇÃO EM MASSA USANDO JSON COM URLs
+    // Com upsert=true, a importação é idempotente: produtos localizados por SKU ou nome + fabricante,
+    // linhas sem alteração ignoradas e resposta com o resumo (ResultadoImportacaoDto) em vez dos produtos.
+    // revalidarImagens=true também confere (GET condicional) as imagens dos produtos sem alteração no feed.
     @PostMapping("/importar")
-    public ResponseEntity<?> importarProdutos(@RequestBody List<ProdutoDto> produtosParaImportar) {
+    public ResponseEntity<?> importarProdutos(
+            @RequestBody List<ProdutoDto> produtosParaImportar,
+            @RequestParam(defaultValue = "false") boolean upsert,
+            @RequestParam(defaultValue = "false") boolean revalidarImagens) {
         try {
+            if (upsert) {
+                return ResponseEntity.ok(produtoService.importarProdutosComUpsert(produtosParaImportar, revalidarImagens));
+            }
             List<Produto> produtosSalvos = produtoService.importarProdutosDeJson(produtosParaImportar);
             List<ProdutoDto> dtos = produtosSalvos.stream()
                     .map(ProdutoDto::fromEntity)
@@ -79,12 +250,53 @@ public class ProdutoController {
         return ResponseEntity.ok(ProdutoDto.fromEntity(produtoAtualizado));
     }
 
+    // Atualização em massa de preço/estoque (JSON: [{id, preco?, quantidade?}])
+    @PatchMapping(value = "/precos-estoque", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResultadoAtualizacaoEmMassaDto> atualizarPrecosEstoque(
+            @RequestBody List<AtualizacaoPrecoEstoqueDto> alteracoes) {
+        return ResponseEntity.ok(atualizacaoEmMassaService.atualizarPrecosEstoque(alteracoes));
+    }
+
+    // Mesma operação recebendo CSV "id,preco,quantidade"
+    @PatchMapping(value = "/precos-estoque", consumes = "text/csv")
+    public ResponseEntity<ResultadoAtualizacaoEmMassaDto> atualizarPrecosEstoqueCsv(@RequestBody String csv) {
+        return ResponseEntity.ok(atualizacaoEmMassaService.atualizarPrecosEstoqueCsv(csv));
+    }
+
+    // Exclusão em massa (JSON: [id, ...]); imagens e arquivos são removidos junto
+    @PostMapping(value = "/exclusao-em-massa", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResultadoExclusaoEmMassaDto> excluirProdutosEmMassa(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(exclusaoEmMassaService.excluirProdutos(ids));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduto(@PathVariable Long id) {
         produtoService.deleteProduto(id);
         return ResponseEntity.noContent().build();
     }
 
+    private LoteProdutosDto buscarLote(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um ID.");
+        }
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("IDs não podem ser nulos.");
+        }
+        List<Long> distintos = ids.stream().distinct().collect(Collectors.toList());
+        if (distintos.size() > LIMITE_LOTE_MAXIMO) {
+            throw new IllegalArgumentException("Máximo de " + LIMITE_LOTE_MAXIMO + " IDs por requisição.");
+        }
+
+        List<ProdutoDto> produtos = produtoService.findAllByIdsNaOrdem(distintos).stream()
+                .map(ProdutoDto::fromEntity)
+                .collect(Collectors.toList());
+        Set<Long> encontrados = produtos.stream().map(ProdutoDto::getId).collect(Collectors.toSet());
+        List<Long> naoEncontrados = distintos.stream()
+                .filter(id -> !encontrados.contains(id))
+                .collect(Collectors.toList());
+        return new LoteProdutosDto(produtos, naoEncontrados);
+    }
+
     @GetMapping("/imagens/{nomeArquivo:.+}")
     public ResponseEntity<Resource> getImagem(@PathVariable String nomeArquivo) {
         try {
@@ -0,0 +1,40 @@
+package com.projetoIntSenai.TecnovaApplication.Dto;
+
+import java.util.List;
+
+/**
+ * Resposta da sincronização incremental do catálogo.
+ * Contém os produtos criados/alterados, os IDs excluídos e o token para a próxima chamada.
+ */
+public class AlteracoesCatalogoDto {
+
+    private List<ProdutoDto> produtos;
+
+    // IDs de produtos excluídos desde o token informado
+    private List<Long> removidos;
+
+    // Token a ser enviado em "desde" na próxima chamada
+    private String proximoToken;
+
+    // true se ainda há alterações além do limite desta página
+    private boolean temMais;
+
+    public AlteracoesCatalogoDto() {}
+
+    public AlteracoesCatalogoDto(List<ProdutoDto> produtos, List<Long> removidos, String proximoToken, boolean temMais) {
+        this.produtos = produtos;
+        this.removidos = removidos;
+        this.proximoToken = proximoToken;
+        this.temMais = temMais;
+    }
+
+    // --- Getters e Setters ---
+    public List<ProdutoDto> getProdutos() { return produtos; }
+    public void setProdutos(List<ProdutoDto> produtos) { this.produtos = produtos; }
+    public List<Long> getRemovidos() { return removidos; }
+    public void setRemovidos(List<Long> removidos) { this.removidos = removidos; }
+    public String getProximoToken() { return proximoToken; }
+    public void setProximoToken(String proximoToken) { this.proximoToken = proximoToken; }
+    public boolean isTemMais() { return temMais; }
+    public void setTemMais(boolean temMais) { this.temMais = temMais; }
+}
@@ -0,0 +1,30 @@
+package com.projetoIntSenai.TecnovaApplication.Dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Uma linha da atualização em massa de preço/estoque.
+ * Campos nulos são mantidos com o valor atual do produto.
+ */
+public class AtualizacaoPrecoEstoqueDto {
+
+    private Long id;
+    private BigDecimal preco;
+    private Integer quantidade;
+
+    public AtualizacaoPrecoEstoqueDto() {}
+
+    public AtualizacaoPrecoEstoqueDto(Long id, BigDecimal preco, Integer quantidade) {
+        this.id = id;
+        this.preco = preco;
+        this.quantidade = quantidade;
+    }
+
+    // --- Getters e Setters ---
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public BigDecimal getPreco() { return preco; }
+    public void setPreco(BigDecimal preco) { this.preco = preco; }
+    public Integer getQuantidade() { return quantidade; }
+    public void setQuantidade(Integer quantidade) { this.quantidade = quantidade; }
+}
@@ -0,0 +1,27 @@
+package com.projetoIntSenai.TecnovaApplication.Dto;
+
+import java.util.List;
+
+/**
+ * Resposta compacta do catálogo (media type application/vnd.tecnova.compacto+json).
+ * A URL base das imagens é enviada uma única vez e cada produto traz apenas o nome dos arquivos:
+ * URL da imagem = urlBaseImagens + nome do arquivo.
+ */
+public class CatalogoCompactoDto {
+
+    private String urlBaseImagens;
+    private List<ProdutoDto> produtos;
+
+    public CatalogoCompactoDto() {}
+
+    public CatalogoCompactoDto(String urlBaseImagens, List<ProdutoDto> produtos) {
+        this.urlBaseImagens = urlBaseImagens;
+        this.produtos = produtos;
+    }
+
+    // --- Getters e Setters ---
+    public String getUrlBaseImagens() { return urlBaseImagens; }
+    public void setUrlBaseImagens(String urlBaseImagens) { this.urlBaseImagens = urlBaseImagens; }
+    public List<ProdutoDto> getProdutos() { return produtos; }
+    public void setProdutos(List<ProdutoDto> produtos) { this.produtos = produtos; }
+}
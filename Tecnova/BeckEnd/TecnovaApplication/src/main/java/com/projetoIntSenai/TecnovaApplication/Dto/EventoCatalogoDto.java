@@ -0,0 +1,72 @@
+package com.projetoIntSenai.TecnovaApplication.Dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.projetoIntSenai.TecnovaApplication.Entity.Produto;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Evento compacto do stream GET /api/produtos/eventos (SSE).
+ * Traz só o necessário para o painel decidir o que atualizar; os dados completos vêm de GET /{id} ou /lote.
+ * Operações em massa (importação, atualização e exclusão) publicam um único evento por bloco confirmado,
+ * com os IDs em produtoIds, para não encher a fila dos assinantes nem o histórico de retomada.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventoCatalogoDto {
+
+    public enum Tipo { CRIADO, ATUALIZADO, EXCLUIDO, ESTOQUE_ALTERADO }
+
+    private Tipo tipo;
+    private Long produtoId;
+    private String nome;
+
+    // Em ESTOQUE_ALTERADO, null indica que o valor não mudou
+    private BigDecimal preco;
+    private Integer quantidade;
+
+    // Evento de um bloco inteiro: os produtos afetados (produtoId, nome, preco e quantidade ficam nulos)
+    private List<Long> produtoIds;
+
+    private LocalDateTime dataHora = LocalDateTime.now();
+
+    public EventoCatalogoDto() {}
+
+    public EventoCatalogoDto(Tipo tipo, Long produtoId, String nome, BigDecimal preco, Integer quantidade) {
+        this.tipo = tipo;
+        this.produtoId = produtoId;
+        this.nome = nome;
+        this.preco = preco;
+        this.quantidade = quantidade;
+    }
+
+    public static EventoCatalogoDto de(Tipo tipo, Produto produto) {
+        return new EventoCatalogoDto(tipo, produto.getId(), produto.getNome(), produto.getPreco(), produto.getQuantidade());
+    }
+
+    public static EventoCatalogoDto exclusao(Long produtoId) {
+        return new EventoCatalogoDto(Tipo.EXCLUIDO, produtoId, null, null, null);
+    }
+
+    public static EventoCatalogoDto lote(Tipo tipo, List<Long> produtoIds) {
+        EventoCatalogoDto evento = new EventoCatalogoDto(tipo, null, null, null, null);
+        evento.produtoIds = List.copyOf(produtoIds);
+        return evento;
+    }
+
+    // --- Getters e Setters ---
+    public Tipo getTipo() { return tipo; }
+    public void setTipo(Tipo tipo) { this.tipo = tipo; }
+    public Long getProdutoId() { return produtoId; }
+    public void setProdutoId(Long produtoId) { this.produtoId = produtoId; }
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+    public BigDecimal getPreco() { return preco; }
+    public void setPreco(BigDecimal preco) { this.preco = preco; }
+    public Integer getQuantidade() { return quantidade; }
+    public void setQuantidade(Integer quantidade) { this.quantidade = quantidade; }
+    public List<Long> getProdutoIds() { return produtoIds; }
+    public void setProdutoIds(List<Long> produtoIds) { this.produtoIds = produtoIds; }
+    public LocalDateTime getDataHora() { return dataHora; }
+    public void setDataHora(LocalDateTime dataHora) { this.dataHora = dataHora; }
+}
@@ -0,0 +1,28 @@
+package com.projetoIntSenai.TecnovaApplication.Dto;
+
+/**
+ * Falha de uma linha em uma operação em massa.
+ * "linha" é a posição (a partir de 1) no JSON ou no CSV enviado.
+ */
+public class FalhaLinhaDto {
+
+    private int linha;
+    private Long id;
+    private String motivo;
+
+    public FalhaLinhaDto() {}
+
+    public FalhaLinhaDto(int linha, Long id, String motivo) {
+        this.linha = linha;
+        this.id = id;
+        this.motivo = motivo;
+    }
+
+    // --- Getters e Setters ---
+    public int getLinha() { return linha; }
+    public void setLinha(int linha) { this.linha = linha; }
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getMotivo() { return motivo; }
+    public void setMotivo(String motivo) { this.motivo = motivo; }
+}
@@ -0,0 +1,25 @@
+package com.projetoIntSenai.TecnovaApplication.Dto;
+
+import java.util.List;
+
+/**
+ * Resposta de GET/POST /api/produtos/lote: os produtos encontrados na ordem pedida e os IDs inexistentes.
+ */
+public class LoteProdutosDto {
+
+    private List<ProdutoDto> produtos;
+    private List<Long> idsNaoEncontrados;
+
+    public LoteProdutosDto() {}
+
+    public LoteProdutosDto(List<ProdutoDto> produtos, List<Long> idsNaoEncontrados) {
+        this.produtos = produtos;
+        this.idsNaoEncontrados = idsNaoEncontrados;
+    }
+
+    // --- Getters e Setters ---
+    public List<ProdutoDto> getProdutos() { return produtos; }
+    public void setProdutos(List<ProdutoDto> produtos) { this.produtos = produtos; }
+    public List<Long> getIdsNaoEncontrados() { return idsNaoEncontrados; }
+    public void setIdsNaoEncontrados(List<Long> idsNaoEncontrados) { this.idsNaoEncontrados = idsNaoEncontrados; }
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -14,8 +15,16 @@ import java.util.stream.Collectors;
  */
 public class ProdutoDto {
 
+    // Exemplo: http://localhost:8080/api/produtos/imagens/nome-do-arquivo.jpg
+    // Altere a base da URL se necessário.
+    public static final String URL_BASE_IMAGENS = "http://localhost:8080/api/produtos/imagens/";
+
     private Long id;
 
+    // Código do produto no fornecedor (opcional); usado como chave na importação com upsert
+    @Size(max = 100, message = "SKU não pode ter mais que 100 caracteres")
+    private String sku;
+
     @NotBlank(message = "Nome é obrigatório")
     @Size(max = 100, message = "Nome não pode ter mais que 100 caracteres")
     private String nome;
@@ -63,6 +72,21 @@ public class ProdutoDto {
      * @return O DTO correspondente.
      */
     public static ProdutoDto fromEntity(Produto produto) {
+        // Constrói a URL completa para cada imagem
+        return fromEntity(produto, ProdutoDto::buildImageUrl);
+    }
+
+    /**
+     * Converte uma entidade Produto para um ProdutoDto com apenas o nome do arquivo de cada imagem.
+     * Usado nas respostas compactas, que enviam a URL base (URL_BASE_IMAGENS) uma única vez.
+     * @param produto A entidade a ser convertida.
+     * @return O DTO correspondente.
+     */
+    public static ProdutoDto fromEntityCompacto(Produto produto) {
+        return fromEntity(produto, Function.identity());
+    }
+
+    private static ProdutoDto fromEntity(Produto produto, Function<String, String> referenciaImagem) {
         if (produto == null) {
             return null;
         }
@@ -70,12 +94,11 @@ public class ProdutoDto {
         List<String> urlsImagens = Collections.emptyList();
         if (produto.getImagens() != null && !produto.getImagens().isEmpty()) {
             urlsImagens = produto.getImagens().stream()
-                    // Constrói a URL completa para cada imagem
-                    .map(imagem -> buildImageUrl(imagem.getNomeArquivo()))
+                    .map(imagem -> referenciaImagem.apply(imagem.getNomeArquivo()))
                     .collect(Collectors.toList());
         }
 
-        return new ProdutoDto(
+        ProdutoDto dto = new ProdutoDto(
                 produto.getId(),
                 produto.getNome(),
                 produto.getDescricao(),
@@ -85,6 +108,8 @@ public class ProdutoDto {
                 produto.getQuantidade(),
                 urlsImagens
         );
+        dto.setSku(produto.getSku());
+        return dto;
     }
 
     /**
@@ -94,6 +119,8 @@ public class ProdutoDto {
     public Produto toEntity() {
         Produto produto = new Produto();
         produto.setId(this.id);
+        // SKU em branco vira null: a coluna é única e aceita vários nulls, mas não vários ""
+        produto.setSku(this.sku == null || this.sku.isBlank() ? null : this.sku.trim());
         produto.setNome(this.nome);
         produto.setDescricao(this.textoDescritivo); // Mapeia 'textoDescritivo' para 'descricao'
         produto.setFabricante(this.fabricante);
@@ -111,14 +138,14 @@ public class ProdutoDto {
      * @return A URL completa.
      */
     private static String buildImageUrl(String nomeArquivo) {
-        // Exemplo: http://localhost:8080/api/produtos/imagens/nome-do-arquivo.jpg
-        // Altere a base da URL se necessário.
-        return "http://localhost:8080/api/produtos/imagens/" + nomeArquivo;
+        return URL_BASE_IMAGENS + nomeArquivo;
     }
 
     // --- Getters e Setters ---
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
+    public String getSku() { return sku; }
+    public void setSku(String sku) { this.sku = sku; }
     public String getNome() { return nome; }
     public void setNome(String nome) { this.nome = nome; }
     public String getTextoDescritivo() { return textoDescritivo; }
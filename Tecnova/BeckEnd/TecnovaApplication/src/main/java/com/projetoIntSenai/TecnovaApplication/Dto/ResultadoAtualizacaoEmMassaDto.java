@@ -0,0 +1,43 @@
+package com.projetoIntSenai.TecnovaApplication.Dto;
+
+import java.util.List;
+
+/**
+ * Relatório da atualização em massa de preço/estoque.
+ */
+public class ResultadoAtualizacaoEmMassaDto {
+
+    private int recebidos;
+    private int atualizados;
+
+    // Linhas cujo preço e quantidade já eram os informados (dataAtualizacao não é alterada)
+    private int inalterados;
+
+    // Linhas executadas sem contagem de linhas do driver (Statement.SUCCESS_NO_INFO): podem ou não ter mudado
+    private int desconhecidos;
+
+    private List<FalhaLinhaDto> falhas;
+
+    public ResultadoAtualizacaoEmMassaDto() {}
+
+    public ResultadoAtualizacaoEmMassaDto(int recebidos, int atualizados, int inalterados, int desconhecidos,
+                                          List<FalhaLinhaDto> falhas) {
+        this.recebidos = recebidos;
+        this.atualizados = atualizados;
+        this.inalterados = inalterados;
+        this.desconhecidos = desconhecidos;
+        this.falhas = falhas;
+    }
+
+    // --- Getters e Setters ---
+    public int getRecebidos() { return recebidos; }
+    public void setRecebidos(int recebidos) { this.recebidos = recebidos; }
+    public int getAtualizados() { return atualizados; }
+    public void setAtualizados(int atualizados) { this.atualizados = atualizados; }
+    public int getInalterados() { return inalterados; }
+    public void setInalterados(int inalterados) { this.inalterados = inalterados; }
+    public int getDesconhecidos() { return desconhecidos; }
+    public void setDesconhecidos(int desconhecidos) { this.desconhecidos = desconhecidos; }
+    public List<FalhaLinhaDto> getFalhas() { return falhas; }
+    public void setFalhas(List<FalhaLinhaDto> falhas) { this.falhas = falhas; }
+}
@@ -0,0 +1,51 @@
+package com.projetoIntSenai.TecnovaApplication.Dto;
+
+import java.util.List;
+
+/**
+ * Relatório da exclusão em massa de produtos.
+ */
+public class ResultadoExclusaoEmMassaDto {
+
+    private int recebidos;
+    private int excluidos;
+    private int imagensExcluidas;
+
+    // Arquivos apagados do disco depois do commit; as falhas não desfazem a exclusão no banco
+    private int arquivosRemovidos;
+    private int falhasArquivos;
+
+    private List<Long> idsNaoEncontrados;
+
+    // IDs dos blocos cuja transação falhou (nada do bloco foi excluído); os demais blocos seguem normalmente
+    private List<FalhaLinhaDto> falhas;
+
+    public ResultadoExclusaoEmMassaDto() {}
+
+    public ResultadoExclusaoEmMassaDto(int recebidos, int excluidos, int imagensExcluidas, int arquivosRemovidos,
+                                       int falhasArquivos, List<Long> idsNaoEncontrados, List<FalhaLinhaDto> falhas) {
+        this.recebidos = recebidos;
+        this.excluidos = excluidos;
+        this.imagensExcluidas = imagensExcluidas;
+        this.arquivosRemovidos = arquivosRemovidos;
+        this.falhasArquivos = falhasArquivos;
+        this.idsNaoEncontrados = idsNaoEncontrados;
+        this.falhas = falhas;
+    }
+
+    // --- Getters e Setters ---
+    public int getRecebidos() { return recebidos; }
+    public void setRecebidos(int recebidos) { this.recebidos = recebidos; }
+    public int getExcluidos() { return excluidos; }
+    public void setExcluidos(int excluidos) { this.excluidos = excluidos; }
+    public int getImagensExcluidas() { return imagensExcluidas; }
+    public void setImagensExcluidas(int imagensExcluidas) { this.imagensExcluidas = imagensExcluidas; }
+    public int getArquivosRemovidos() { return arquivosRemovidos; }
+    public void setArquivosRemovidos(int arquivosRemovidos) { this.arquivosRemovidos = arquivosRemovidos; }
+    public int getFalhasArquivos() { return falhasArquivos; }
+    public void setFalhasArquivos(int falhasArquivos) { this.falhasArquivos = falhasArquivos; }
+    public List<Long> getIdsNaoEncontrados() { return idsNaoEncontrados; }
+    public void setIdsNaoEncontrados(List<Long> idsNaoEncontrados) { this.idsNaoEncontrados = idsNaoEncontrados; }
+    public List<FalhaLinhaDto> getFalhas() { return falhas; }
+    public void setFalhas(List<FalhaLinhaDto> falhas) { this.falhas = falhas; }
+}
@@ -0,0 +1,48 @@
+package com.projetoIntSenai.TecnovaApplication.Dto;
+
+/**
+ * Relatório da importação com upsert (POST /api/produtos/importar?upsert=true).
+ */
+public class ResultadoImportacaoDto {
+
+    private int recebidos;
+    private int inseridos;
+    private int atualizados;
+
+    // Linhas cujo hash de conteúdo é igual ao da última importação (nenhum comando de escrita)
+    private int inalterados;
+
+    private int imagensBaixadas;
+    private int imagensRemovidas;
+
+    // Imagens revalidadas sem transferência (HTTP 304)
+    private int imagensNaoModificadas;
+
+    public ResultadoImportacaoDto() {}
+
+    public ResultadoImportacaoDto(int recebidos, int inseridos, int atualizados, int inalterados, int imagensBaixadas, int imagensRemovidas, int imagensNaoModificadas) {
+        this.recebidos = recebidos;
+        this.inseridos = inseridos;
+        this.atualizados = atualizados;
+        this.inalterados = inalterados;
+        this.imagensBaixadas = imagensBaixadas;
+        this.imagensRemovidas = imagensRemovidas;
+        this.imagensNaoModificadas = imagensNaoModificadas;
+    }
+
+    // --- Getters e Setters ---
+    public int getRecebidos() { return recebidos; }
+    public void setRecebidos(int recebidos) { this.recebidos = recebidos; }
+    public int getInseridos() { return inseridos; }
+    public void setInseridos(int inseridos) { this.inseridos = inseridos; }
+    public int getAtualizados() { return atualizados; }
+    public void setAtualizados(int atualizados) { this.atualizados = atualizados; }
+    public int getInalterados() { return inalterados; }
+    public void setInalterados(int inalterados) { this.inalterados = inalterados; }
+    public int getImagensBaixadas() { return imagensBaixadas; }
+    public void setImagensBaixadas(int imagensBaixadas) { this.imagensBaixadas = imagensBaixadas; }
+    public int getImagensRemovidas() { return imagensRemovidas; }
+    public void setImagensRemovidas(int imagensRemovidas) { this.imagensRemovidas = imagensRemovidas; }
+    public int getImagensNaoModificadas() { return imagensNaoModificadas; }
+    public void setImagensNaoModificadas(int imagensNaoModificadas) { this.imagensNaoModificadas = imagensNaoModificadas; }
+}
@@ -20,6 +20,20 @@ public class Imagem implements Serializable {
     @Column(name = "nome_arquivo", nullable = false, length = 255)
     private String nomeArquivo;
 
+    // URL de onde a imagem foi baixada na importação (null para imagens enviadas por upload)
+    @Column(name = "url_origem", length = 1000)
+    private String urlOrigem;
+
+    // Validadores HTTP da última resposta da URL de origem (ETag e Last-Modified como recebidos)
+    @Column(length = 255)
+    private String etag;
+
+    @Column(name = "ultima_modificacao", length = 64)
+    private String ultimaModificacao;
+
+    @Column(name = "tamanho_bytes")
+    private Long tamanhoBytes;
+
     @Column(name = "ordem_exibicao")
     private Integer ordemExibicao;
 
@@ -41,6 +55,14 @@ public class Imagem implements Serializable {
     public void setId(Long id) { this.id = id; }
     public String getNomeArquivo() { return nomeArquivo; }
     public void setNomeArquivo(String nomeArquivo) { this.nomeArquivo = nomeArquivo; }
+    public String getUrlOrigem() { return urlOrigem; }
+    public void setUrlOrigem(String urlOrigem) { this.urlOrigem = urlOrigem; }
+    public String getEtag() { return etag; }
+    public void setEtag(String etag) { this.etag = etag; }
+    public String getUltimaModificacao() { return ultimaModificacao; }
+    public void setUltimaModificacao(String ultimaModificacao) { this.ultimaModificacao = ultimaModificacao; }
+    public Long getTamanhoBytes() { return tamanhoBytes; }
+    public void setTamanhoBytes(Long tamanhoBytes) { this.tamanhoBytes = tamanhoBytes; }
     public Integer getOrdemExibicao() { return ordemExibicao; }
     public void setOrdemExibicao(Integer ordemExibicao) { this.ordemExibicao = ordemExibicao; }
     public Produto getProduto() { return produto; }
@@ -34,12 +34,22 @@ public class Produto implements Serializable {
     @Column(nullable = false)
     private Integer quantidade = 0; // Valor padrão
 
+    // Código do produto no fornecedor; chave natural da importação com upsert (opcional)
+    @Column(unique = true, length = 100)
+    private String sku;
+
+    // SHA-256 da última linha do feed importada para este produto; linhas com o mesmo hash são ignoradas
+    @Column(name = "hash_conteudo", length = 64)
+    private String hashConteudo;
+
     // Relação One-to-Many com a nova entidade Imagem
     // mappedBy: Indica o campo na entidade Imagem que possui a relação (produto)
     // CascadeType.ALL: Operações no produto (salvar, atualizar, excluir) propagam para as imagens associadas
     // orphanRemoval = true: Se uma imagem for removida da lista 'imagens' do produto, ela será excluída do banco
     // fetch = FetchType.LAZY: Carrega as imagens apenas quando a lista é acessada (otimização)
+    // @OrderBy: As imagens vêm sempre na ordem de exibição (também nas consultas com JOIN FETCH)
     @OneToMany(mappedBy = "produto", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("ordemExibicao ASC, id ASC")
     private List<Imagem> imagens = new ArrayList<>(); // Inicializa a lista para evitar NullPointerException
 
     // Campos de auditoria
@@ -49,6 +59,14 @@ public class Produto implements Serializable {
     @Column(name = "data_atualizacao")
     private LocalDateTime dataAtualizacao;
 
+    // Na inserção, 'dataAtualizacao' recebe a data de criação para que o produto entre na sincronização incremental
+    @PrePersist
+    protected void onCreate() {
+        if (this.dataAtualizacao == null) {
+            this.dataAtualizacao = this.dataCriacao;
+        }
+    }
+
     // Callback para atualizar 'dataAtualizacao' antes de cada atualização no banco
     @PreUpdate
     protected void onUpdate() {
@@ -156,6 +174,22 @@ public class Produto implements Serializable {
         this.quantidade = quantidade;
     }
 
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public String getHashConteudo() {
+        return hashConteudo;
+    }
+
+    public void setHashConteudo(String hashConteudo) {
+        this.hashConteudo = hashConteudo;
+    }
+
     // Getter e Setter para a lista de imagens
     public List<Imagem> getImagens() {
         return imagens;
@@ -0,0 +1,40 @@
+package com.projetoIntSenai.TecnovaApplication.Entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Registro ("tombstone") de um produto excluído.
+ * Permite que clientes que sincronizam o catálogo de forma incremental saibam quais IDs remover.
+ */
+@Entity
+@Table(name = "produtos_excluidos")
+public class ProdutoExclusao implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "produto_id", nullable = false)
+    private Long produtoId;
+
+    @Column(name = "data_exclusao", nullable = false)
+    private LocalDateTime dataExclusao = LocalDateTime.now();
+
+    // Construtor padrão exigido pela JPA
+    public ProdutoExclusao() {}
+
+    public ProdutoExclusao(Long produtoId) {
+        this.produtoId = produtoId;
+    }
+
+    // --- Getters e Setters ---
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getProdutoId() { return produtoId; }
+    public void setProdutoId(Long produtoId) { this.produtoId = produtoId; }
+    public LocalDateTime getDataExclusao() { return dataExclusao; }
+    public void setDataExclusao(LocalDateTime dataExclusao) { this.dataExclusao = dataExclusao; }
+}
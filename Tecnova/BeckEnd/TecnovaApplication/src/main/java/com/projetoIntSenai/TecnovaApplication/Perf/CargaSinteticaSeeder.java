@@ -0,0 +1,128 @@
+package com.projetoIntSenai.TecnovaApplication.Perf;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Popula o banco embarcado do perfil "perf" com produtos e imagens sintéticos para os testes de carga.
+ * As imagens são JPEGs gerados no diretório de uploads configurado; cada arquivo é compartilhado por vários
+ * produtos para que catálogos grandes (500 mil produtos) não precisem de milhões de arquivos.
+ */
+@Component
+@Profile("perf")
+public class CargaSinteticaSeeder implements ApplicationRunner {
+
+    private static final String[] FABRICANTES = {"Samsung", "LG", "Philips", "Sony", "TCL", "Motorola", "Xiaomi", "Dell", "Lenovo", "Apple"};
+    private static final String[] CORES = {"Preto", "Branco", "Prata", "Azul", "Vermelho", "Cinza"};
+    private static final String[] TIPOS = {"Smart TV", "Notebook", "Smartphone", "Monitor", "Fone de ouvido", "Tablet", "Soundbar"};
+    private static final int TAMANHO_LOTE = 5_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${tecnova.perf.produtos:10000}")
+    private int quantidadeProdutos;
+
+    @Value("${tecnova.perf.imagens-por-produto:2}")
+    private int imagensPorProduto;
+
+    @Value("${tecnova.perf.imagens-distintas:200}")
+    private int imagensDistintas;
+
+    @Value("${tecnova.uploads.diretorio:uploads}")
+    private String diretorioUploads;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Integer existentes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM produtos", Integer.class);
+        if (existentes != null && existentes > 0) {
+            System.err.println("[perf] Banco já possui " + existentes + " produtos; carga sintética ignorada.");
+            return;
+        }
+
+        long inicio = System.currentTimeMillis();
+        List<String> arquivos = gerarImagens();
+        Random random = new Random(42);
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> produtos = new ArrayList<>(TAMANHO_LOTE);
+        List<Object[]> imagens = new ArrayList<>(TAMANHO_LOTE * imagensPorProduto);
+        for (long id = 1; id <= quantidadeProdutos; id++) {
+            String tipo = TIPOS[random.nextInt(TIPOS.length)];
+            String fabricante = FABRICANTES[random.nextInt(FABRICANTES.length)];
+            produtos.add(new Object[]{
+                    id,
+                    tipo + " " + fabricante + " modelo " + id,
+                    "Produto sintético " + id + " para teste de carga. " + tipo + " da linha " + fabricante + ".",
+                    fabricante,
+                    CORES[random.nextInt(CORES.length)],
+                    BigDecimal.valueOf(50 + random.nextInt(10_000_00) / 100.0),
+                    random.nextInt(500),
+                    agora,
+                    agora
+            });
+            for (int ordem = 0; ordem < imagensPorProduto; ordem++) {
+                imagens.add(new Object[]{arquivos.get(random.nextInt(arquivos.size())), ordem, id});
+            }
+            if (produtos.size() == TAMANHO_LOTE || id == quantidadeProdutos) {
+                inserir(produtos, imagens);
+            }
+        }
+        jdbcTemplate.execute("ALTER TABLE produtos ALTER COLUMN id RESTART WITH " + (quantidadeProdutos + 1));
+
+        System.err.println("[perf] " + quantidadeProdutos + " produtos e " + (quantidadeProdutos * imagensPorProduto)
+                + " imagens sintéticos criados em " + (System.currentTimeMillis() - inicio) + " ms.");
+    }
+
+    private void inserir(List<Object[]> produtos, List<Object[]> imagens) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO produtos (id, nome, descricao, fabricante, cor, preco, quantidade, data_criacao, data_atualizacao) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", produtos);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO imagens_produto (nome_arquivo, ordem_exibicao, produto_id) VALUES (?, ?, ?)", imagens);
+        produtos.clear();
+        imagens.clear();
+    }
+
+    private List<String> gerarImagens() throws IOException {
+        Path diretorio = Paths.get(diretorioUploads).toAbsolutePath().normalize();
+        Files.createDirectories(diretorio);
+        Random random = new Random(7);
+        List<String> arquivos = new ArrayList<>();
+        for (int i = 0; i < imagensDistintas; i++) {
+            BufferedImage imagem = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = imagem.createGraphics();
+            g.setColor(new Color(random.nextInt(0xFFFFFF)));
+            g.fillRect(0, 0, 400, 300);
+            g.setColor(new Color(random.nextInt(0xFFFFFF)));
+            g.fillOval(random.nextInt(200), random.nextInt(150), 100 + random.nextInt(200), 80 + random.nextInt(150));
+            g.dispose();
+
+            String nomeArquivo = UUID.randomUUID() + ".jpg";
+            ImageIO.write(imagem, "jpg", diretorio.resolve(nomeArquivo).toFile());
+            arquivos.add(nomeArquivo);
+        }
+        return arquivos;
+    }
+}
@@ -0,0 +1,18 @@
+package com.projetoIntSenai.TecnovaApplication.Repository;
+
+import com.projetoIntSenai.TecnovaApplication.Entity.ProdutoExclusao;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProdutoExclusaoRepository extends JpaRepository<ProdutoExclusao, Long> {
+
+    // Paginação por cursor (dataExclusao, id) sobre o índice idx_produtos_excluidos_data, só até "ate"
+    @Query("SELECT e FROM ProdutoExclusao e WHERE e.dataExclusao >= :desde AND (e.dataExclusao > :desde OR e.id > :ultimoId) AND e.dataExclusao < :ate ORDER BY e.dataExclusao, e.id")
+    List<ProdutoExclusao> findExclusoesDesde(LocalDateTime desde, Long ultimoId, LocalDateTime ate, Limit limit);
+}
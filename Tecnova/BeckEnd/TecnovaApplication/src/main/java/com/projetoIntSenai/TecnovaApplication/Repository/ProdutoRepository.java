@@ -1,22 +1,52 @@
 package com.projetoIntSenai.TecnovaApplication.Repository;
 
 import com.projetoIntSenai.TecnovaApplication.Entity.Produto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
 
-    // Busca produtos cujo nome contenha a string, ignorando maiúsculas/minúsculas
-    List<Produto> findByNomeContainingIgnoreCase(String nome);
+    // Busca por prefixo do nome na ordem de idx_produtos_nome (faixa no índice, sem varredura nem ordenação).
+    // "contém" (LIKE '%x%') não usaria o índice; no MySQL a collation padrão já ignora maiúsculas/minúsculas.
+    String SQL_IDS_POR_PREFIXO_DO_NOME = "SELECT id FROM produtos WHERE nome LIKE :prefixo ORDER BY nome LIMIT :limite";
+
+    @Query(value = SQL_IDS_POR_PREFIXO_DO_NOME, nativeQuery = true)
+    List<Long> findIdsPorPrefixoDoNome(String prefixo, int limite);
 
     // Sobrescreve o método findById para garantir que a coleção de imagens seja carregada (EAGER fetch)
     // Isso evita o erro "LazyInitializationException" se as imagens forem acessadas fora de uma transação.
     @Query("SELECT p FROM Produto p LEFT JOIN FETCH p.imagens WHERE p.id = :id")
     @Override
     Optional<Produto> findById(Long id);
+
+    // Só a versão (data_atualizacao) do produto, para responder requisições condicionais sem o fetch join
+    @Query("SELECT p.dataAtualizacao FROM Produto p WHERE p.id = :id")
+    Optional<LocalDateTime> findDataAtualizacaoById(Long id);
+
+    // Listagem com as imagens na mesma consulta, evitando uma consulta por produto ao montar os DTOs (N+1)
+    @Query("SELECT DISTINCT p FROM Produto p LEFT JOIN FETCH p.imagens")
+    @Override
+    List<Produto> findAll();
+
+    // Produtos alterados desde o cursor (dataAtualizacao, id) e antes de "ate", na ordem do índice idx_produtos_data_atualizacao.
+    // As imagens não são carregadas aqui (o fetch join impediria o LIMIT no banco); use findAllComImagensByIdIn.
+    @Query("SELECT p FROM Produto p WHERE p.dataAtualizacao >= :desde AND (p.dataAtualizacao > :desde OR p.id > :ultimoId) AND p.dataAtualizacao < :ate ORDER BY p.dataAtualizacao, p.id")
+    List<Produto> findAlteradosDesde(LocalDateTime desde, Long ultimoId, LocalDateTime ate, Limit limit);
+
+    // Candidatos da importação com upsert: por SKU e por nome (o fabricante é comparado em memória)
+    List<Produto> findBySkuIn(Collection<String> skus);
+
+    List<Produto> findByNomeIn(Collection<String> nomes);
+
+    // Carrega vários produtos com as imagens em uma única consulta
+    @Query("SELECT DISTINCT p FROM Produto p LEFT JOIN FETCH p.imagens WHERE p.id IN :ids")
+    List<Produto> findAllComImagensByIdIn(Collection<Long> ids);
 }
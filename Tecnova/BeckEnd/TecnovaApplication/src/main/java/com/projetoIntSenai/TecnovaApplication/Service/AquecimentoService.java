@@ -0,0 +1,249 @@
+package com.projetoIntSenai.TecnovaApplication.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projetoIntSenai.TecnovaApplication.Config.ReadWriteRoutingDataSource;
+import com.projetoIntSenai.TecnovaApplication.Dto.AlteracoesCatalogoDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.CatalogoCompactoDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.LoteProdutosDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.ProdutoDto;
+import com.projetoIntSenai.TecnovaApplication.Entity.Imagem;
+import com.projetoIntSenai.TecnovaApplication.Entity.Produto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aquecimento da aplicação antes de aceitar tráfego: abre as conexões dos pools (primário e réplica), executa as consultas
+ * mais usadas (detalhe, busca, lote, versão, campos e sincronização), serializa os DTOs e lê algumas imagens do disco,
+ * para que o JIT compile esses caminhos e os primeiros usuários não paguem o custo. Tudo usa uma amostra limitada
+ * (tecnova.aquecimento.amostra-produtos), então a duração não cresce com o tamanho do catálogo.
+ * Roda de forma síncrona no ApplicationReadyEvent: o Spring Boot só publica ReadinessState.ACCEPTING_TRAFFIC
+ * depois que os listeners desse evento terminam, então /actuator/health/readiness fica OUT_OF_SERVICE
+ * até o fim do aquecimento.
+ */
+@Service
+public class AquecimentoService {
+
+    private static final List<String> CAMPOS_DETALHE = CamposProdutoService.interpretarCampos("nome,preco,quantidade,imagens");
+    private static final List<String> CAMPOS_LISTAGEM = CamposProdutoService.interpretarCampos("nome,preco,quantidade");
+
+    // Resumo da execução (também registrado no log)
+    public record Relatorio(int conexoes, int iteracoes, int produtos, int imagens, long duracaoMs) {}
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private CamposProdutoService camposProdutoService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final boolean habilitado;
+    private final int iteracoes;
+    private final int conexoes;
+    private final int amostraProdutos;
+    private final int maximoImagens;
+
+    private volatile boolean concluido;
+
+    public AquecimentoService(
+            @Value("${tecnova.aquecimento.habilitado:true}") boolean habilitado,
+            @Value("${tecnova.aquecimento.iteracoes:200}") int iteracoes,
+            @Value("${tecnova.aquecimento.conexoes:10}") int conexoes,
+            @Value("${tecnova.aquecimento.amostra-produtos:20}") int amostraProdutos,
+            @Value("${tecnova.aquecimento.imagens:20}") int maximoImagens) {
+        this.habilitado = habilitado;
+        this.iteracoes = Math.max(0, iteracoes);
+        this.conexoes = Math.max(1, conexoes);
+        this.amostraProdutos = Math.max(1, amostraProdutos);
+        this.maximoImagens = Math.max(0, maximoImagens);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar(ApplicationReadyEvent evento) {
+        if (!habilitado) {
+            return;
+        }
+        // Explicita o estado: o tráfego só é liberado quando este listener retornar
+        AvailabilityChangeEvent.publish(evento.getApplicationContext(), ReadinessState.REFUSING_TRAFFIC);
+        try {
+            Relatorio relatorio = aquecer();
+            System.err.println("[aquecimento] concluído em " + relatorio.duracaoMs() + " ms: "
+                    + relatorio.conexoes() + " conexões, " + relatorio.iteracoes() + " iterações, "
+                    + relatorio.produtos() + " produtos, " + relatorio.imagens() + " imagens");
+        } catch (Exception e) {
+            // Falha no aquecimento não impede a aplicação de subir; só perde o benefício
+            System.err.println("[aquecimento] interrompido: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Executa o aquecimento completo.
+     * @return O resumo do que foi exercitado.
+     */
+    public Relatorio aquecer() throws Exception {
+        long inicio = System.nanoTime();
+        int conexoesAbertas = preencherPools(dataSource, conexoes);
+
+        List<Produto> amostra = produtoService.buscarPorPrefixoDoNome("", amostraProdutos);
+        List<Long> ids = amostra.stream().map(Produto::getId).toList();
+
+        for (int i = 0; i < iteracoes; i++) {
+            if (!ids.isEmpty()) {
+                Long id = ids.get(i % ids.size());
+                produtoService.findVersaoById(id);
+                produtoService.findById(id).ifPresent(this::serializar);
+                camposProdutoService.buscarPorId(id, CAMPOS_DETALHE);
+                camposProdutoService.buscarPorId(id, CAMPOS_LISTAGEM);
+            }
+            if (i % 10 == 0) {
+                // A amostra em lote também exercita a serialização das listagens (lista de ProdutoDto)
+                List<ProdutoDto> lote = produtoService.findAllByIdsNaOrdem(ids).stream().map(ProdutoDto::fromEntity).toList();
+                objectMapper.writeValueAsBytes(lote);
+                objectMapper.writeValueAsBytes(new LoteProdutosDto(lote, List.of()));
+                AlteracoesCatalogoDto alteracoes = produtoService.buscarAlteracoes("", amostraProdutos);
+                objectMapper.writeValueAsBytes(alteracoes);
+            }
+        }
+
+        int imagensLidas = lerImagens(amostra);
+
+        long duracaoNanos = System.nanoTime() - inicio;
+        Timer.builder("tecnova.aquecimento.duracao")
+                .description("Duração do aquecimento antes de aceitar tráfego")
+                .register(meterRegistry)
+                .record(duracaoNanos, TimeUnit.NANOSECONDS);
+        concluido = true;
+        return new Relatorio(conexoesAbertas, iteracoes, ids.size(), imagensLidas,
+                TimeUnit.NANOSECONDS.toMillis(duracaoNanos));
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public boolean isConcluido() {
+        return concluido;
+    }
+
+    /**
+     * Preenche os pools de conexões. Com réplica, o bean dataSource só entrega conexões do primário fora de
+     * transações readOnly; por isso cada pool de destino do roteamento (primário e réplica) é preenchido diretamente.
+     * @return O total de conexões abertas e validadas.
+     */
+    static int preencherPools(DataSource dataSource, int conexoes) throws Exception {
+        Map<Object, DataSource> pools = dataSource.isWrapperFor(ReadWriteRoutingDataSource.class)
+                ? dataSource.unwrap(ReadWriteRoutingDataSource.class).getResolvedDataSources()
+                : Map.of("dataSource", dataSource);
+        int abertas = 0;
+        for (Map.Entry<Object, DataSource> pool : pools.entrySet()) {
+            try {
+                abertas += preencherPool(pool.getValue(), conexoes);
+            } catch (Exception e) {
+                // Uma réplica fora do ar não impede o aquecimento do primário
+                System.err.println("[aquecimento] pool " + pool.getKey() + " não preenchido: " + e.getMessage());
+            }
+        }
+        return abertas;
+    }
+
+    // Pede todas as conexões ao mesmo tempo para o pool abrir até o seu tamanho máximo configurado
+    private static int preencherPool(DataSource pool, int conexoes) throws Exception {
+        CountDownLatch todasAbertas = new CountDownLatch(conexoes);
+        ExecutorService executor = Executors.newFixedThreadPool(conexoes);
+        try {
+            List<Future<Boolean>> resultados = new ArrayList<>();
+            for (int i = 0; i < conexoes; i++) {
+                resultados.add(executor.submit(() -> {
+                    Connection conexao;
+                    try {
+                        conexao = pool.getConnection();
+                    } finally {
+                        todasAbertas.countDown();
+                    }
+                    try (conexao) {
+                        // Segura a conexão até as outras abrirem, senão o pool reaproveita a mesma
+                        todasAbertas.await(10, TimeUnit.SECONDS);
+                        return conexao.isValid(5);
+                    }
+                }));
+            }
+            int abertas = 0;
+            for (Future<Boolean> resultado : resultados) {
+                if (resultado.get(30, TimeUnit.SECONDS)) {
+                    abertas++;
+                }
+            }
+            return abertas;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void serializar(Produto produto) {
+        try {
+            objectMapper.writeValueAsBytes(ProdutoDto.fromEntity(produto));
+            objectMapper.writeValueAsBytes(new CatalogoCompactoDto(
+                    ProdutoDto.URL_BASE_IMAGENS, List.of(ProdutoDto.fromEntityCompacto(produto))));
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha ao serializar o produto " + produto.getId(), e);
+        }
+    }
+
+    // Lê algumas imagens inteiras para aquecer o caminho de arquivos e o cache de páginas do sistema
+    private int lerImagens(List<Produto> amostra) {
+        Set<String> nomes = new LinkedHashSet<>();
+        for (Produto produto : amostra) {
+            for (Imagem imagem : produto.getImagens()) {
+                if (nomes.size() >= maximoImagens) {
+                    break;
+                }
+                nomes.add(imagem.getNomeArquivo());
+            }
+        }
+        int lidas = 0;
+        byte[] buffer = new byte[8192];
+        for (String nome : nomes) {
+            try {
+                Resource recurso = produtoService.carregarImagem(nome);
+                try (InputStream entrada = recurso.getInputStream()) {
+                    while (entrada.read(buffer) != -1) {
+                        // Só a leitura importa
+                    }
+                }
+                lidas++;
+            } catch (Exception e) {
+                // Arquivo ausente não é motivo para interromper o aquecimento
+            }
+        }
+        return lidas;
+    }
+}
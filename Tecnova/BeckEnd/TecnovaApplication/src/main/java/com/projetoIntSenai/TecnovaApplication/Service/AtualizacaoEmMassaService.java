@@ -0,0 +1,217 @@
+package com.projetoIntSenai.TecnovaApplication.Service;
+
+import com.projetoIntSenai.TecnovaApplication.Dto.AtualizacaoPrecoEstoqueDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.EventoCatalogoDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.FalhaLinhaDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.ResultadoAtualizacaoEmMassaDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Atualização em massa de preço e estoque com UPDATEs em lote (JDBC batch), sem carregar as entidades.
+ * Cada bloco de linhas roda em sua própria transação; a falha de um bloco não desfaz os anteriores.
+ */
+@Service
+public class AtualizacaoEmMassaService {
+
+    public static final int MAXIMO_LINHAS = 100_000;
+
+    // Só altera (e só muda data_atualizacao) quando preço ou quantidade realmente mudam
+    private static final String SQL_ATUALIZAR =
+            "UPDATE produtos SET preco = COALESCE(?, preco), quantidade = COALESCE(?, quantidade), data_atualizacao = ? " +
+            "WHERE id = ? AND (preco <> COALESCE(?, preco) OR quantidade <> COALESCE(?, quantidade))";
+
+    private static final int[] TIPOS_SQL = {
+            Types.DECIMAL, Types.INTEGER, Types.TIMESTAMP, Types.BIGINT, Types.DECIMAL, Types.INTEGER
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EventosCatalogoService eventosCatalogoService;
+
+    @Value("${tecnova.lote.tamanho-bloco:1000}")
+    private int tamanhoBloco;
+
+    // Cada bloco precisa confirmar dentro da janela que a sincronização incremental espera (ver ProdutoService)
+    @Value("${tecnova.sincronizacao.duracao-maxima-transacao:60s}")
+    private Duration duracaoMaximaTransacao;
+
+    /**
+     * Aplica as alterações recebidas em JSON.
+     * @param alteracoes Linhas {id, preco?, quantidade?}.
+     * @return O relatório com contagens e falhas por linha.
+     */
+    public ResultadoAtualizacaoEmMassaDto atualizarPrecosEstoque(List<AtualizacaoPrecoEstoqueDto> alteracoes) {
+        List<Linha> linhas = new ArrayList<>();
+        for (int i = 0; i < alteracoes.size(); i++) {
+            linhas.add(new Linha(i + 1, alteracoes.get(i)));
+        }
+        return aplicar(linhas, new ArrayList<>(), alteracoes.size());
+    }
+
+    /**
+     * Aplica as alterações recebidas em CSV ("id,preco,quantidade", cabeçalho opcional, campos vazios mantêm o valor atual).
+     * @param csv O conteúdo do arquivo.
+     * @return O relatório com contagens e falhas por linha.
+     */
+    public ResultadoAtualizacaoEmMassaDto atualizarPrecosEstoqueCsv(String csv) {
+        List<Linha> linhas = new ArrayList<>();
+        List<FalhaLinhaDto> falhas = new ArrayList<>();
+        int recebidos = 0;
+
+        String[] registros = csv.split("\\r?\\n");
+        for (int i = 0; i < registros.length; i++) {
+            String registro = registros[i].trim();
+            if (registro.isEmpty() || (i == 0 && registro.toLowerCase().startsWith("id"))) {
+                continue;
+            }
+            recebidos++;
+            String[] campos = registro.split(",", -1);
+            try {
+                if (campos.length > 3) {
+                    throw new IllegalArgumentException("Esperado 'id,preco,quantidade'");
+                }
+                Long id = Long.valueOf(campos[0].trim());
+                BigDecimal preco = campos.length > 1 && !campos[1].isBlank() ? new BigDecimal(campos[1].trim()) : null;
+                Integer quantidade = campos.length > 2 && !campos[2].isBlank() ? Integer.valueOf(campos[2].trim()) : null;
+                linhas.add(new Linha(i + 1, new AtualizacaoPrecoEstoqueDto(id, preco, quantidade)));
+            } catch (IllegalArgumentException e) {
+                falhas.add(new FalhaLinhaDto(i + 1, null, "Linha inválida: " + e.getMessage()));
+            }
+        }
+        return aplicar(linhas, falhas, recebidos);
+    }
+
+    private ResultadoAtualizacaoEmMassaDto aplicar(List<Linha> linhas, List<FalhaLinhaDto> falhas, int recebidos) {
+        if (recebidos > MAXIMO_LINHAS) {
+            throw new IllegalArgumentException("Máximo de " + MAXIMO_LINHAS + " linhas por requisição.");
+        }
+
+        List<Linha> validas = new ArrayList<>();
+        for (Linha linha : linhas) {
+            String erro = validar(linha.dto());
+            if (erro != null) {
+                falhas.add(new FalhaLinhaDto(linha.numero(), linha.dto().getId(), erro));
+            } else {
+                validas.add(linha);
+            }
+        }
+
+        int atualizados = 0;
+        int inalterados = 0;
+        int desconhecidos = 0;
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setTimeout((int) duracaoMaximaTransacao.toSeconds());
+
+        for (int inicio = 0; inicio < validas.size(); inicio += tamanhoBloco) {
+            List<Linha> bloco = validas.subList(inicio, Math.min(inicio + tamanhoBloco, validas.size()));
+            Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> parametros = new ArrayList<>(bloco.size());
+            for (Linha linha : bloco) {
+                AtualizacaoPrecoEstoqueDto dto = linha.dto();
+                parametros.add(new Object[]{dto.getPreco(), dto.getQuantidade(), agora, dto.getId(), dto.getPreco(), dto.getQuantidade()});
+            }
+
+            int[] contagens;
+            try {
+                contagens = transacao.execute(status -> jdbcTemplate.batchUpdate(SQL_ATUALIZAR, parametros, TIPOS_SQL));
+            } catch (RuntimeException e) {
+                for (Linha linha : bloco) {
+                    falhas.add(new FalhaLinhaDto(linha.numero(), linha.dto().getId(), "Falha ao gravar o bloco: " + e.getMessage()));
+                }
+                continue;
+            }
+
+            // Linhas sem alteração: o produto não existe ou já tinha os valores informados.
+            // SUCCESS_NO_INFO: o driver executou a linha sem informar a contagem, então não se sabe se o produto
+            // mudou; a linha é contada à parte e não gera evento
+            List<Linha> semAlteracao = new ArrayList<>();
+            List<Long> alterados = new ArrayList<>();
+            for (int i = 0; i < bloco.size(); i++) {
+                if (contagens[i] == Statement.SUCCESS_NO_INFO) {
+                    desconhecidos++;
+                } else if (contagens[i] > 0) {
+                    atualizados++;
+                    alterados.add(bloco.get(i).dto().getId());
+                } else {
+                    semAlteracao.add(bloco.get(i));
+                }
+            }
+            // O bloco já foi confirmado pelo TransactionTemplate: um evento para o bloco inteiro
+            if (!alterados.isEmpty()) {
+                eventosCatalogoService.publicar(EventoCatalogoDto.lote(EventoCatalogoDto.Tipo.ESTOQUE_ALTERADO, alterados));
+            }
+            if (!semAlteracao.isEmpty()) {
+                Set<Long> existentes = buscarIdsExistentes(semAlteracao);
+                for (Linha linha : semAlteracao) {
+                    if (existentes.contains(linha.dto().getId())) {
+                        inalterados++;
+                    } else {
+                        falhas.add(new FalhaLinhaDto(linha.numero(), linha.dto().getId(), "Produto não encontrado com ID: " + linha.dto().getId()));
+                    }
+                }
+            }
+        }
+
+        falhas.sort((a, b) -> Integer.compare(a.getLinha(), b.getLinha()));
+        return new ResultadoAtualizacaoEmMassaDto(recebidos, atualizados, inalterados, desconhecidos, falhas);
+    }
+
+    private String validar(AtualizacaoPrecoEstoqueDto dto) {
+        if (dto == null || dto.getId() == null) {
+            return "ID é obrigatório";
+        }
+        if (dto.getPreco() == null && dto.getQuantidade() == null) {
+            return "Informe preco e/ou quantidade";
+        }
+        if (dto.getPreco() != null && dto.getPreco().signum() <= 0) {
+            return "Preço deve ser positivo";
+        }
+        // Mesmo limite da coluna (DECIMAL(15,2)): fora dele o UPDATE falharia e derrubaria o bloco inteiro
+        if (dto.getPreco() != null && !cabeNaColunaPreco(dto.getPreco())) {
+            return "Preço deve ter no máximo 13 dígitos inteiros e 2 casas decimais";
+        }
+        if (dto.getQuantidade() != null && dto.getQuantidade() < 0) {
+            return "Quantidade não pode ser negativa";
+        }
+        return null;
+    }
+
+    private static boolean cabeNaColunaPreco(BigDecimal preco) {
+        BigDecimal valor = preco.stripTrailingZeros();
+        return valor.precision() - valor.scale() <= 13 && valor.scale() <= 2;
+    }
+
+    private Set<Long> buscarIdsExistentes(List<Linha> linhas) {
+        List<Long> ids = linhas.stream().map(linha -> linha.dto().getId()).distinct().toList();
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT id FROM produtos WHERE id IN (:ids)", Map.of("ids", ids), Long.class));
+    }
+
+    private record Linha(int numero, AtualizacaoPrecoEstoqueDto dto) {}
+}
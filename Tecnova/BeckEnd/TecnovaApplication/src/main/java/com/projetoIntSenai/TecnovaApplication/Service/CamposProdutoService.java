@@ -0,0 +1,137 @@
+package com.projetoIntSenai.TecnovaApplication.Service;
+
+import com.projetoIntSenai.TecnovaApplication.Dto.ProdutoDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Listagem e detalhe com apenas os campos pedidos em ?fields= (sparse fieldsets).
+ * A seleção vai para o SQL: só as colunas pedidas são lidas e a tabela de imagens só é consultada
+ * quando "imagens" está entre os campos. O id é sempre incluído.
+ */
+@Service
+public class CamposProdutoService {
+
+    public static final String CAMPO_IMAGENS = "imagens";
+
+    // Campo do ProdutoDto -> coluna da tabela produtos (lista fixa: os nomes nunca vêm do cliente para o SQL)
+    private static final Map<String, String> COLUNAS = new LinkedHashMap<>();
+
+    static {
+        COLUNAS.put("id", "id");
+        COLUNAS.put("sku", "sku");
+        COLUNAS.put("nome", "nome");
+        COLUNAS.put("textoDescritivo", "descricao");
+        COLUNAS.put("fabricante", "fabricante");
+        COLUNAS.put("cor", "cor");
+        COLUNAS.put("preco", "preco");
+        COLUNAS.put("quantidade", "quantidade");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Interpreta o parâmetro fields.
+     * @param fields Nomes dos campos do ProdutoDto separados por vírgula.
+     * @return Os campos na ordem pedida, começando pelo id.
+     * @throws IllegalArgumentException Se algum campo não existir.
+     */
+    public static List<String> interpretarCampos(String fields) {
+        Set<String> campos = new LinkedHashSet<>();
+        campos.add("id");
+        for (String campo : fields.split(",")) {
+            String nome = campo.trim();
+            if (nome.isEmpty()) {
+                continue;
+            }
+            if (!COLUNAS.containsKey(nome) && !CAMPO_IMAGENS.equals(nome)) {
+                throw new IllegalArgumentException("Campo desconhecido em fields: " + nome
+                        + ". Disponíveis: " + String.join(", ", COLUNAS.keySet()) + ", " + CAMPO_IMAGENS + ".");
+            }
+            campos.add(nome);
+        }
+        return new ArrayList<>(campos);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> listar(List<String> campos) {
+        List<Map<String, Object>> produtos = jdbcTemplate.query(
+                "SELECT " + colunas(campos) + " FROM produtos ORDER BY id",
+                (rs, numero) -> mapear(rs, campos));
+        if (campos.contains(CAMPO_IMAGENS)) {
+            adicionarImagens(produtos, "SELECT produto_id, nome_arquivo FROM imagens_produto ORDER BY produto_id, ordem_exibicao, id");
+        }
+        return produtos;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> buscarPorId(Long id, List<String> campos) {
+        List<Map<String, Object>> produtos = jdbcTemplate.query(
+                "SELECT " + colunas(campos) + " FROM produtos WHERE id = ?",
+                (rs, numero) -> mapear(rs, campos), id);
+        if (produtos.isEmpty()) {
+            return Optional.empty();
+        }
+        if (campos.contains(CAMPO_IMAGENS)) {
+            adicionarImagens(produtos, "SELECT produto_id, nome_arquivo FROM imagens_produto WHERE produto_id = ? ORDER BY produto_id, ordem_exibicao, id", id);
+        }
+        return Optional.of(produtos.get(0));
+    }
+
+    private String colunas(List<String> campos) {
+        List<String> colunas = new ArrayList<>();
+        for (String campo : campos) {
+            if (COLUNAS.containsKey(campo)) {
+                colunas.add(COLUNAS.get(campo));
+            }
+        }
+        return String.join(", ", colunas);
+    }
+
+    private Map<String, Object> mapear(ResultSet rs, List<String> campos) throws SQLException {
+        Map<String, Object> produto = new LinkedHashMap<>();
+        for (String campo : campos) {
+            if (CAMPO_IMAGENS.equals(campo)) {
+                produto.put(campo, new ArrayList<String>());
+            } else if ("id".equals(campo)) {
+                produto.put(campo, rs.getLong("id"));
+            } else if ("quantidade".equals(campo)) {
+                produto.put(campo, rs.getObject("quantidade", Integer.class));
+            } else if ("preco".equals(campo)) {
+                produto.put(campo, rs.getBigDecimal("preco"));
+            } else {
+                produto.put(campo, rs.getString(COLUNAS.get(campo)));
+            }
+        }
+        return produto;
+    }
+
+    // Preenche "imagens" de cada produto com as URLs completas, como em ProdutoDto.fromEntity
+    @SuppressWarnings("unchecked")
+    private void adicionarImagens(List<Map<String, Object>> produtos, String sql, Object... parametros) {
+        Map<Long, List<String>> imagensPorProduto = new HashMap<>();
+        for (Map<String, Object> produto : produtos) {
+            imagensPorProduto.put((Long) produto.get("id"), (List<String>) produto.get(CAMPO_IMAGENS));
+        }
+        jdbcTemplate.query(sql, rs -> {
+            List<String> imagens = imagensPorProduto.get(rs.getLong("produto_id"));
+            if (imagens != null) {
+                imagens.add(ProdutoDto.URL_BASE_IMAGENS + rs.getString("nome_arquivo"));
+            }
+        }, parametros);
+    }
+}
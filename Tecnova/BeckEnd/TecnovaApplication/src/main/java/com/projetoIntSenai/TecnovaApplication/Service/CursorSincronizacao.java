@@ -0,0 +1,88 @@
+package com.projetoIntSenai.TecnovaApplication.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição de um cliente na sincronização incremental do catálogo.
+ * Guarda o último (dataAtualizacao, id) de produto e o último (dataExclusao, id) de exclusão já entregues,
+ * e é trafegado para o cliente como um token opaco.
+ */
+public class CursorSincronizacao {
+
+    private static final String VERSAO = "v1";
+    private static final LocalDateTime INICIO = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final LocalDateTime produtoData;
+    private final long produtoId;
+    private final LocalDateTime exclusaoData;
+    private final long exclusaoId;
+
+    public CursorSincronizacao(LocalDateTime produtoData, long produtoId, LocalDateTime exclusaoData, long exclusaoId) {
+        this.produtoData = produtoData;
+        this.produtoId = produtoId;
+        this.exclusaoData = exclusaoData;
+        this.exclusaoId = exclusaoId;
+    }
+
+    /**
+     * Interpreta o parâmetro "desde": vazio (catálogo completo), data/hora ISO (ex.: 2024-05-01T10:00:00)
+     * ou um token devolvido em uma resposta anterior.
+     * @throws IllegalArgumentException Se o valor não for nenhum dos formatos aceitos.
+     */
+    public static CursorSincronizacao parse(String desde) {
+        if (desde == null || desde.isBlank()) {
+            return new CursorSincronizacao(INICIO, 0, INICIO, 0);
+        }
+        try {
+            LocalDateTime data = LocalDateTime.parse(desde);
+            return new CursorSincronizacao(data, 0, data, 0);
+        } catch (DateTimeParseException ignored) {
+            // não é uma data, tenta como token
+        }
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(desde), StandardCharsets.UTF_8).split(":");
+            if (partes.length != 5 || !VERSAO.equals(partes[0])) {
+                throw new IllegalArgumentException("Token de sincronização inválido: " + desde);
+            }
+            return new CursorSincronizacao(
+                    deMicros(Long.parseLong(partes[1])), Long.parseLong(partes[2]),
+                    deMicros(Long.parseLong(partes[3])), Long.parseLong(partes[4]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Parâmetro 'desde' deve ser uma data ISO ou um token de sincronização: " + desde, e);
+        }
+    }
+
+    public String toToken() {
+        String valor = String.join(":", VERSAO,
+                String.valueOf(emMicros(produtoData)), String.valueOf(produtoId),
+                String.valueOf(emMicros(exclusaoData)), String.valueOf(exclusaoId));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public CursorSincronizacao comProduto(LocalDateTime data, long id) {
+        return new CursorSincronizacao(data, id, exclusaoData, exclusaoId);
+    }
+
+    public CursorSincronizacao comExclusao(LocalDateTime data, long id) {
+        return new CursorSincronizacao(produtoData, produtoId, data, id);
+    }
+
+    public LocalDateTime getProdutoData() { return produtoData; }
+    public long getProdutoId() { return produtoId; }
+    public LocalDateTime getExclusaoData() { return exclusaoData; }
+    public long getExclusaoId() { return exclusaoId; }
+
+    // A data só é usada como posição; UTC aqui é apenas a codificação, não um fuso
+    private static long emMicros(LocalDateTime data) {
+        return data.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + data.getNano() / 1_000;
+    }
+
+    private static LocalDateTime deMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
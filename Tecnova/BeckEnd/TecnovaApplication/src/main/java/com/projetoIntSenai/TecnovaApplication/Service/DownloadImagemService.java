@@ -0,0 +1,190 @@
+package com.projetoIntSenai.TecnovaApplication.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Download das imagens da importação com GET condicional (If-None-Match / If-Modified-Since).
+ * Opcionalmente mantém um cache em disco por URL (tecnova.importacao.cache-downloads.diretorio): uma URL já
+ * baixada é revalidada com os validadores do cache e, com 304, o conteúdo vem do disco em vez da rede.
+ */
+@Service
+public class DownloadImagemService {
+
+    // De onde veio o conteúdo retornado
+    public enum Origem { REDE, CACHE, NAO_MODIFICADA }
+
+    // Validadores HTTP guardados com a imagem (qualquer um pode ser null)
+    public record Validadores(String etag, String ultimaModificacao) {
+        public boolean vazios() {
+            return etag == null && ultimaModificacao == null;
+        }
+    }
+
+    /**
+     * Resultado do download. Com NAO_MODIFICADA, bytes é null e o arquivo atual continua válido.
+     */
+    public record Resultado(Origem origem, byte[] bytes, Validadores validadores, Long tamanho) {}
+
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    private final Path diretorioCache;
+
+    // Cache desabilitado quando o diretório não é informado
+    public DownloadImagemService(
+            @Value("${tecnova.importacao.cache-downloads.diretorio:}") String diretorioCache,
+            @Value("${tecnova.importacao.timeout-segundos:10}") int timeoutSegundos) {
+        this.timeout = Duration.ofSeconds(timeoutSegundos);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(this.timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        if (diretorioCache == null || diretorioCache.isBlank()) {
+            this.diretorioCache = null;
+        } else {
+            this.diretorioCache = Paths.get(diretorioCache).toAbsolutePath().normalize();
+            try {
+                Files.createDirectories(this.diretorioCache);
+            } catch (IOException ex) {
+                throw new RuntimeException("Falha ao criar diretório do cache de downloads: " + this.diretorioCache, ex);
+            }
+        }
+    }
+
+    /**
+     * Baixa a imagem da URL.
+     * @param url URL da imagem (só http/https).
+     * @param atuais Validadores do arquivo que o chamador já tem, ou null para obter o conteúdo.
+     * @return NAO_MODIFICADA quando o servidor responde 304 aos validadores do chamador; caso contrário, o conteúdo.
+     * @throws IOException Se o download falhar ou o servidor responder com erro.
+     * @throws IllegalArgumentException Se a URL for inválida ou de outro esquema (file:, jar:, ftp:...), que
+     *         permitiria a um feed ler arquivos locais do servidor e publicá-los em /api/produtos/imagens/.
+     */
+    public Resultado baixar(String url, Validadores atuais) throws IOException {
+        URI uri = URI.create(url);
+        String esquema = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        if (!esquema.equals("http") && !esquema.equals("https")) {
+            throw new IllegalArgumentException("Esquema de URL não suportado (use http ou https): " + url);
+        }
+
+        boolean usaValidadoresDoChamador = atuais != null && !atuais.vazios();
+        Path arquivoCache = arquivoCache(url, ".dados");
+        Validadores doCache = usaValidadoresDoChamador ? null : lerValidadoresCache(url);
+        Validadores enviados = usaValidadoresDoChamador ? atuais : doCache;
+
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(uri).timeout(timeout).GET();
+        if (enviados != null && enviados.etag() != null) {
+            requisicao.header("If-None-Match", enviados.etag());
+        }
+        if (enviados != null && enviados.ultimaModificacao() != null) {
+            requisicao.header("If-Modified-Since", enviados.ultimaModificacao());
+        }
+
+        HttpResponse<byte[]> resposta;
+        try {
+            resposta = httpClient.send(requisicao.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Download interrompido: " + url, e);
+        }
+
+        if (resposta.statusCode() == 304) {
+            if (usaValidadoresDoChamador) {
+                return new Resultado(Origem.NAO_MODIFICADA, null, atuais, null);
+            }
+            if (doCache != null) {
+                byte[] bytes = Files.readAllBytes(arquivoCache);
+                return new Resultado(Origem.CACHE, bytes, doCache, (long) bytes.length);
+            }
+        }
+        if (resposta.statusCode() != 200) {
+            throw new IOException("HTTP " + resposta.statusCode() + " ao baixar " + url);
+        }
+
+        byte[] bytes = resposta.body();
+        Validadores recebidos = new Validadores(
+                resposta.headers().firstValue("ETag").orElse(null),
+                resposta.headers().firstValue("Last-Modified").orElse(null));
+        gravarCache(url, bytes, recebidos);
+        return new Resultado(Origem.REDE, bytes, recebidos, (long) bytes.length);
+    }
+
+    private Validadores lerValidadoresCache(String url) {
+        if (diretorioCache == null) {
+            return null;
+        }
+        Path meta = arquivoCache(url, ".meta");
+        if (!Files.exists(meta) || !Files.exists(arquivoCache(url, ".dados"))) {
+            return null;
+        }
+        Properties propriedades = new Properties();
+        try (InputStream in = Files.newInputStream(meta)) {
+            propriedades.load(in);
+        } catch (IOException e) {
+            return null;
+        }
+        // Confere a URL para o caso (improvável) de colisão do hash
+        if (!url.equals(propriedades.getProperty("url"))) {
+            return null;
+        }
+        Validadores validadores = new Validadores(propriedades.getProperty("etag"), propriedades.getProperty("ultimaModificacao"));
+        return validadores.vazios() ? null : validadores;
+    }
+
+    // Só guarda respostas com validadores: sem eles o cache não pode ser revalidado
+    private void gravarCache(String url, byte[] bytes, Validadores validadores) {
+        if (diretorioCache == null || validadores.vazios()) {
+            return;
+        }
+        try {
+            Path temporario = Files.createTempFile(diretorioCache, "download", ".tmp");
+            Files.write(temporario, bytes);
+            Files.move(temporario, arquivoCache(url, ".dados"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            Properties propriedades = new Properties();
+            propriedades.setProperty("url", url);
+            if (validadores.etag() != null) {
+                propriedades.setProperty("etag", validadores.etag());
+            }
+            if (validadores.ultimaModificacao() != null) {
+                propriedades.setProperty("ultimaModificacao", validadores.ultimaModificacao());
+            }
+            try (OutputStream out = Files.newOutputStream(arquivoCache(url, ".meta"))) {
+                propriedades.store(out, null);
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar o cache de download da URL: " + url + ". Erro: " + e.getMessage());
+        }
+    }
+
+    private Path arquivoCache(String url, String extensao) {
+        if (diretorioCache == null) {
+            return null;
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return diretorioCache.resolve(HexFormat.of().formatHex(hash) + extensao);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
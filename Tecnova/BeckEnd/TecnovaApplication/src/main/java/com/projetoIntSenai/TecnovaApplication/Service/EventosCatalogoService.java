@@ -0,0 +1,250 @@
+package com.projetoIntSenai.TecnovaApplication.Service;
+
+import com.projetoIntSenai.TecnovaApplication.Dto.EventoCatalogoDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distribui os eventos do catálogo para os assinantes do stream SSE.
+ * <p>
+ * Cada assinante tem uma fila limitada e uma virtual thread que a esvazia no SseEmitter; conexões ociosas
+ * não prendem threads do Tomcat nem threads de plataforma. Se a fila de um assinante enche (cliente lento),
+ * a conexão é encerrada e o cliente reconecta com Last-Event-ID. Os últimos eventos ficam em um histórico
+ * limitado para essa retomada; quando o ID pedido já saiu do histórico (ou é de outra execução do servidor),
+ * o cliente recebe "ressincronizar" e deve recarregar o catálogo (ou usar /alteracoes).
+ * <p>
+ * Os eventos são locais a esta instância da aplicação.
+ */
+@Service
+public class EventosCatalogoService {
+
+    public static final String EVENTO_RESSINCRONIZAR = "ressincronizar";
+
+    // Identifica a execução do servidor no ID dos eventos ("<execucao>-<sequencia>")
+    private final String execucao = Long.toString(System.currentTimeMillis(), 36);
+
+    private final int capacidadeFila;
+    private final int tamanhoHistorico;
+    private final int maximoAssinantes;
+    private final long timeoutMs;
+
+    private final Object trava = new Object();
+    private final Deque<Evento> historico = new ArrayDeque<>();
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private long sequencia = 0;
+
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofVirtual().name("sse-heartbeat").factory());
+    private final Counter descartados;
+
+    public EventosCatalogoService(
+            @Value("${tecnova.eventos.buffer-por-assinante:256}") int capacidadeFila,
+            @Value("${tecnova.eventos.historico:1000}") int tamanhoHistorico,
+            @Value("${tecnova.eventos.maximo-assinantes:10000}") int maximoAssinantes,
+            @Value("${tecnova.eventos.timeout-minutos:30}") long timeoutMinutos,
+            @Value("${tecnova.eventos.heartbeat-segundos:20}") long heartbeatSegundos,
+            MeterRegistry meterRegistry) {
+        this.capacidadeFila = capacidadeFila;
+        this.tamanhoHistorico = tamanhoHistorico;
+        this.maximoAssinantes = maximoAssinantes;
+        this.timeoutMs = TimeUnit.MINUTES.toMillis(timeoutMinutos);
+
+        Gauge.builder("tecnova.eventos.assinantes", assinantes, Set::size)
+                .description("Conexões SSE abertas em /api/produtos/eventos")
+                .register(meterRegistry);
+        this.descartados = Counter.builder("tecnova.eventos.assinantes_descartados")
+                .description("Assinantes desconectados por não acompanharem os eventos (fila cheia)")
+                .register(meterRegistry);
+
+        // Comentário periódico: mantém proxies abertos e detecta conexões que caíram
+        heartbeat.scheduleWithFixedDelay(() -> {
+            for (Assinante assinante : assinantes) {
+                enfileirar(assinante, Assinante.HEARTBEAT);
+            }
+        }, heartbeatSegundos, heartbeatSegundos, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Publica o evento depois do commit da transação atual (ou imediatamente, fora de transação).
+     * Se a transação for desfeita, nada é publicado.
+     */
+    public void publicarAposCommit(EventoCatalogoDto evento) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publicar(evento);
+                }
+            });
+        } else {
+            publicar(evento);
+        }
+    }
+
+    public void publicar(EventoCatalogoDto dados) {
+        synchronized (trava) {
+            Evento evento = new Evento(++sequencia, dados);
+            historico.addLast(evento);
+            if (historico.size() > tamanhoHistorico) {
+                historico.removeFirst();
+            }
+            for (Assinante assinante : assinantes) {
+                enfileirar(assinante, evento);
+            }
+        }
+    }
+
+    /**
+     * Abre o stream para um novo assinante.
+     * @param ultimoEventoId Valor do header Last-Event-ID enviado pelo EventSource ao reconectar (ou null).
+     * @return O SseEmitter da conexão.
+     * @throws IllegalStateException Se o máximo de assinantes simultâneos foi atingido.
+     */
+    public SseEmitter assinar(String ultimoEventoId) {
+        return assinar(new SseEmitter(timeoutMs), ultimoEventoId);
+    }
+
+    SseEmitter assinar(SseEmitter emitter, String ultimoEventoId) {
+        if (assinantes.size() >= maximoAssinantes) {
+            throw new IllegalStateException("Limite de " + maximoAssinantes + " conexões de eventos atingido.");
+        }
+        Assinante assinante = new Assinante(emitter, new ArrayBlockingQueue<>(capacidadeFila));
+        emitter.onCompletion(() -> remover(assinante));
+        emitter.onTimeout(() -> remover(assinante));
+        emitter.onError(erro -> remover(assinante));
+
+        // Registro e reenvio sob a mesma trava de publicar(): nenhum evento é perdido ou duplicado entre os dois
+        synchronized (trava) {
+            List<Object> pendentes = eventosDesde(ultimoEventoId);
+            if (pendentes.size() > capacidadeFila) {
+                pendentes = List.of(Assinante.RESSINCRONIZAR);
+            }
+            assinante.fila.addAll(pendentes);
+            assinantes.add(assinante);
+        }
+        assinante.thread = Thread.ofVirtual().name("sse-assinante").start(() -> transmitir(assinante));
+        return emitter;
+    }
+
+    public int getQuantidadeAssinantes() {
+        return assinantes.size();
+    }
+
+    // Chamado com a trava
+    private List<Object> eventosDesde(String ultimoEventoId) {
+        List<Object> pendentes = new ArrayList<>();
+        if (ultimoEventoId == null || ultimoEventoId.isBlank()) {
+            return pendentes;
+        }
+        long ultimaSequencia = sequenciaDoId(ultimoEventoId);
+        long maisAntigo = historico.isEmpty() ? sequencia + 1 : historico.getFirst().sequencia();
+        if (ultimaSequencia < 0 || ultimaSequencia > sequencia || ultimaSequencia < maisAntigo - 1) {
+            pendentes.add(Assinante.RESSINCRONIZAR);
+            return pendentes;
+        }
+        for (Evento evento : historico) {
+            if (evento.sequencia() > ultimaSequencia) {
+                pendentes.add(evento);
+            }
+        }
+        return pendentes;
+    }
+
+    // -1 quando o ID é inválido ou de outra execução do servidor
+    private long sequenciaDoId(String id) {
+        int separador = id.lastIndexOf('-');
+        if (separador < 0 || !id.substring(0, separador).equals(execucao)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(id.substring(separador + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void enfileirar(Assinante assinante, Object item) {
+        if (!assinante.fila.offer(item)) {
+            // Cliente lento: encerra a conexão em vez de acumular eventos ou atrasar os demais assinantes
+            descartados.increment();
+            remover(assinante);
+            assinante.emitter.complete();
+        }
+    }
+
+    private void transmitir(Assinante assinante) {
+        try {
+            while (assinantes.contains(assinante)) {
+                Object item = assinante.fila.take();
+                if (item == Assinante.HEARTBEAT) {
+                    assinante.emitter.send(SseEmitter.event().comment("ping"));
+                } else if (item == Assinante.RESSINCRONIZAR) {
+                    assinante.emitter.send(SseEmitter.event().name(EVENTO_RESSINCRONIZAR).data("{}", MediaType.APPLICATION_JSON));
+                } else {
+                    Evento evento = (Evento) item;
+                    assinante.emitter.send(SseEmitter.event()
+                            .id(execucao + "-" + evento.sequencia())
+                            .name(evento.dados().getTipo().name().toLowerCase())
+                            .data(evento.dados(), MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // Conexão encerrada pelo cliente ou emitter já concluído
+            remover(assinante);
+        }
+    }
+
+    private void remover(Assinante assinante) {
+        if (assinantes.remove(assinante) && assinante.thread != null) {
+            assinante.thread.interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        heartbeat.shutdownNow();
+        for (Assinante assinante : assinantes) {
+            remover(assinante);
+            assinante.emitter.complete();
+        }
+    }
+
+    private record Evento(long sequencia, EventoCatalogoDto dados) {}
+
+    private static final class Assinante {
+        static final Object HEARTBEAT = new Object();
+        static final Object RESSINCRONIZAR = new Object();
+
+        final SseEmitter emitter;
+        final BlockingQueue<Object> fila;
+        volatile Thread thread;
+
+        Assinante(SseEmitter emitter, BlockingQueue<Object> fila) {
+            this.emitter = emitter;
+            this.fila = fila;
+        }
+    }
+}
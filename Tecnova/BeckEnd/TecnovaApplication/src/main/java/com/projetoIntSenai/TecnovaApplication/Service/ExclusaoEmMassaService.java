@@ -0,0 +1,192 @@
+package com.projetoIntSenai.TecnovaApplication.Service;
+
+import com.projetoIntSenai.TecnovaApplication.Dto.EventoCatalogoDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.FalhaLinhaDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.ResultadoExclusaoEmMassaDto;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Exclusão em massa de produtos com DELETEs por conjunto (WHERE ... IN), sem carregar as entidades.
+ * Cada bloco de IDs roda em sua própria transação: imagens e produtos são apagados com um comando cada,
+ * e os registros de exclusão (produtos_excluidos) entram em um único lote. Os arquivos das imagens são
+ * apagados depois do commit do bloco, em paralelo. A falha de um bloco não desfaz os anteriores.
+ */
+@Service
+public class ExclusaoEmMassaService {
+
+    public static final int MAXIMO_IDS = 100_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private EventosCatalogoService eventosCatalogoService;
+
+    @Value("${tecnova.lote.tamanho-bloco:1000}")
+    private int tamanhoBloco;
+
+    // Cada bloco precisa confirmar dentro da janela que a sincronização incremental espera (ver ProdutoService)
+    @Value("${tecnova.sincronizacao.duracao-maxima-transacao:60s}")
+    private Duration duracaoMaximaTransacao;
+
+    private final ExecutorService removedorArquivos;
+
+    public ExclusaoEmMassaService(@Value("${tecnova.exclusao.threads-arquivos:4}") int threadsArquivos) {
+        this.removedorArquivos = Executors.newFixedThreadPool(Math.max(1, threadsArquivos));
+    }
+
+    /**
+     * Exclui os produtos informados e suas imagens.
+     * @param ids IDs dos produtos (repetições são ignoradas).
+     * @return O relatório com contagens, os IDs inexistentes e os IDs dos blocos que falharam.
+     */
+    public ResultadoExclusaoEmMassaDto excluirProdutos(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um ID.");
+        }
+        if (ids.size() > MAXIMO_IDS) {
+            throw new IllegalArgumentException("Máximo de " + MAXIMO_IDS + " IDs por requisição.");
+        }
+        List<Long> distintos = ids.stream().filter(Objects::nonNull).distinct().toList();
+        // Posição (a partir de 1) da primeira ocorrência de cada ID, para o relatório de falhas
+        Map<Long, Integer> posicoes = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) != null) {
+                posicoes.putIfAbsent(ids.get(i), i + 1);
+            }
+        }
+
+        int excluidos = 0;
+        int imagensExcluidas = 0;
+        int arquivosRemovidos = 0;
+        int falhasArquivos = 0;
+        List<Long> naoEncontrados = new ArrayList<>();
+        List<FalhaLinhaDto> falhas = new ArrayList<>();
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setTimeout((int) duracaoMaximaTransacao.toSeconds());
+
+        for (int inicio = 0; inicio < distintos.size(); inicio += tamanhoBloco) {
+            List<Long> bloco = distintos.subList(inicio, Math.min(inicio + tamanhoBloco, distintos.size()));
+            ExclusaoBloco resultado;
+            try {
+                resultado = transacao.execute(status -> excluirBloco(bloco));
+            } catch (RuntimeException e) {
+                for (Long id : bloco) {
+                    falhas.add(new FalhaLinhaDto(posicoes.get(id), id, "Falha ao excluir o bloco: " + e.getMessage()));
+                }
+                continue;
+            }
+
+            // Depois do commit: arquivos e eventos
+            excluidos += resultado.produtos().size();
+            imagensExcluidas += resultado.arquivos().size();
+            Set<Long> existentes = new HashSet<>(resultado.produtos());
+            for (Long id : bloco) {
+                if (!existentes.contains(id)) {
+                    naoEncontrados.add(id);
+                }
+            }
+            if (!resultado.produtos().isEmpty()) {
+                eventosCatalogoService.publicar(EventoCatalogoDto.lote(EventoCatalogoDto.Tipo.EXCLUIDO, resultado.produtos()));
+            }
+            int removidos = removerArquivos(resultado.arquivos());
+            arquivosRemovidos += removidos;
+            falhasArquivos += resultado.arquivos().size() - removidos;
+        }
+
+        return new ResultadoExclusaoEmMassaDto(ids.size(), excluidos, imagensExcluidas, arquivosRemovidos, falhasArquivos,
+                naoEncontrados, falhas);
+    }
+
+    private ExclusaoBloco excluirBloco(List<Long> bloco) {
+        Map<String, Object> parametros = Map.of("ids", bloco);
+        List<Long> produtos = namedParameterJdbcTemplate.queryForList(
+                "SELECT id FROM produtos WHERE id IN (:ids)", parametros, Long.class);
+        if (produtos.isEmpty()) {
+            return new ExclusaoBloco(produtos, List.of());
+        }
+        Map<String, Object> existentes = Map.of("ids", produtos);
+        List<String> arquivos = namedParameterJdbcTemplate.queryForList(
+                "SELECT nome_arquivo FROM imagens_produto WHERE produto_id IN (:ids)", existentes, String.class);
+        namedParameterJdbcTemplate.update("DELETE FROM imagens_produto WHERE produto_id IN (:ids)", existentes);
+        namedParameterJdbcTemplate.update("DELETE FROM produtos WHERE id IN (:ids)", existentes);
+
+        // Tombstones para a sincronização incremental (GET /api/produtos/alteracoes)
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> exclusoes = new ArrayList<>(produtos.size());
+        for (Long id : produtos) {
+            exclusoes.add(new Object[]{id, agora});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO produtos_excluidos (produto_id, data_exclusao) VALUES (?, ?)", exclusoes);
+        return new ExclusaoBloco(produtos, arquivos);
+    }
+
+    // Apaga os arquivos em paralelo e espera o bloco terminar; retorna quantos foram apagados
+    private int removerArquivos(List<String> arquivos) {
+        List<Future<Boolean>> tarefas = new ArrayList<>(arquivos.size());
+        for (String nomeArquivo : arquivos) {
+            tarefas.add(removedorArquivos.submit(() -> {
+                try {
+                    fileStorageService.deletarArquivo(nomeArquivo);
+                    return true;
+                } catch (IOException e) {
+                    System.err.println("Erro ao deletar arquivo de imagem do disco: " + nomeArquivo + ". Erro: " + e.getMessage());
+                    return false;
+                }
+            }));
+        }
+        int removidos = 0;
+        for (Future<Boolean> tarefa : tarefas) {
+            try {
+                if (tarefa.get()) {
+                    removidos++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                System.err.println("Erro ao deletar arquivo de imagem do disco: " + e.getCause().getMessage());
+            }
+        }
+        return removidos;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        removedorArquivos.shutdown();
+    }
+
+    private record ExclusaoBloco(List<Long> produtos, List<String> arquivos) {}
+}
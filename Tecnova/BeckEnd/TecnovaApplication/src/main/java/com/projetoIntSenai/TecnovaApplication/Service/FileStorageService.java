@@ -1,5 +1,6 @@
 package com.projetoIntSenai.TecnovaApplication.Service;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
@@ -18,9 +19,9 @@ import java.util.UUID;
 @Service
 public class FileStorageService {
     private final Path fileStorageLocation;
-    private final String uploadDir = "uploads"; // Nome do diretório de upload
 
-    public FileStorageService() throws RuntimeException {
+    // Diretório de upload (padrão "uploads", relativo ao diretório de execução)
+    public FileStorageService(@Value("${tecnova.uploads.diretorio:uploads}") String uploadDir) throws RuntimeException {
         this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
         try {
             // Cria o diretório se ele não existir
@@ -1,45 +1,145 @@
 package com.projetoIntSenai.TecnovaApplication.Service;
 
+import com.projetoIntSenai.TecnovaApplication.Dto.AlteracoesCatalogoDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.EventoCatalogoDto;
 import com.projetoIntSenai.TecnovaApplication.Dto.ProdutoDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.ResultadoImportacaoDto;
 import com.projetoIntSenai.TecnovaApplication.Entity.Imagem;
 import com.projetoIntSenai.TecnovaApplication.Entity.Produto;
+import com.projetoIntSenai.TecnovaApplication.Entity.ProdutoExclusao;
 import com.projetoIntSenai.TecnovaApplication.Repository.ImagemRepository;
+import com.projetoIntSenai.TecnovaApplication.Repository.ProdutoExclusaoRepository;
 import com.projetoIntSenai.TecnovaApplication.Repository.ProdutoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Limit;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class ProdutoService {
 
+    // Quantidade máxima de valores por cláusula IN nas consultas da importação
+    private static final int TAMANHO_BLOCO_CONSULTA = 1000;
+
+    private static final String SEPARADOR_HASH = "\u001F";
+
     @Autowired
     private ProdutoRepository produtoRepository;
 
     @Autowired
     private ImagemRepository imagemRepository; // Embora não usado diretamente, é bom ter para futuras operações com imagens
 
+    @Autowired
+    private ProdutoExclusaoRepository produtoExclusaoRepository;
+
     @Autowired
     private FileStorageService fileStorageService;
 
+    // Tempo máximo entre carimbar dataAtualizacao/dataExclusao (LocalDateTime.now()) e o commit da transação.
+    // A sincronização só entrega alterações mais antigas que isso: uma transação longa que carimbou antes e
+    // confirmou depois de outra não fica para trás do cursor de um cliente.
+    @Value("${tecnova.sincronizacao.duracao-maxima-transacao:60s}")
+    private Duration duracaoMaximaTransacao;
+
+    @Autowired
+    private DownloadImagemService downloadImagemService;
+
+    @Autowired
+    private EventosCatalogoService eventosCatalogoService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Produtos gravados por transação na importação com upsert
+    @Value("${tecnova.lote.tamanho-bloco:1000}")
+    private int tamanhoBloco;
+
+    @Transactional(readOnly = true)
     public List<Produto> findAll() {
         return produtoRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Optional<Produto> findById(Long id) {
         return produtoRepository.findById(id);
     }
 
+    /**
+     * Versão do produto (dataAtualizacao) para requisições condicionais, sem carregar o produto.
+     * @param id O ID do produto.
+     * @return A data da última alteração, ou vazio se o produto não existe.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findVersaoById(Long id) {
+        return produtoRepository.findDataAtualizacaoById(id);
+    }
+
+    /**
+     * Busca produtos pelo início do nome, usando o índice idx_produtos_nome.
+     * @param termo Início do nome (% e _ são tratados como texto).
+     * @param limite Quantidade máxima de produtos.
+     * @return Os produtos com as imagens, em ordem alfabética.
+     */
+    @Transactional(readOnly = true)
+    public List<Produto> buscarPorPrefixoDoNome(String termo, int limite) {
+        String prefixo = termo.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return findAllByIdsNaOrdem(produtoRepository.findIdsPorPrefixoDoNome(prefixo, limite));
+    }
+
+    /**
+     * Carrega vários produtos com as imagens em uma única consulta.
+     * @param ids IDs na ordem desejada (repetições são ignoradas).
+     * @return Os produtos encontrados, na ordem dos IDs; os inexistentes ficam de fora.
+     */
+    @Transactional(readOnly = true)
+    public List<Produto> findAllByIdsNaOrdem(List<Long> ids) {
+        List<Long> distintos = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distintos.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Produto> porId = new HashMap<>();
+        for (Produto produto : produtoRepository.findAllComImagensByIdIn(distintos)) {
+            porId.put(produto.getId(), produto);
+        }
+        return distintos.stream().map(porId::get).filter(Objects::nonNull).toList();
+    }
+
     @Transactional
     public Produto salvarProdutoComImagens(ProdutoDto produtoDto, List<MultipartFile> imagens) throws IOException {
         Produto produto = produtoDto.toEntity();
@@ -54,7 +154,9 @@ public class ProdutoService {
             }
         }
 
-        return produtoRepository.save(produto);
+        Produto produtoSalvo = produtoRepository.save(produto);
+        eventosCatalogoService.publicarAposCommit(EventoCatalogoDto.de(EventoCatalogoDto.Tipo.CRIADO, produtoSalvo));
+        return produtoSalvo;
     }
 
     @Transactional
@@ -68,6 +170,8 @@ public class ProdutoService {
         produtoExistente.setCor(produtoDto.getCor());
         produtoExistente.setPreco(produtoDto.getPreco());
         produtoExistente.setQuantidade(produtoDto.getQuantidade());
+        // Garante que a alteração entre na sincronização incremental mesmo quando só chegam novas imagens
+        produtoExistente.setDataAtualizacao(LocalDateTime.now());
 
         if (novasImagens != null && !novasImagens.isEmpty()) {
             for (MultipartFile imagemFile : novasImagens) {
@@ -79,7 +183,9 @@ public class ProdutoService {
             }
         }
 
-        return produtoRepository.save(produtoExistente);
+        Produto produtoSalvo = produtoRepository.save(produtoExistente);
+        eventosCatalogoService.publicarAposCommit(EventoCatalogoDto.de(EventoCatalogoDto.Tipo.ATUALIZADO, produtoSalvo));
+        return produtoSalvo;
     }
 
     @Transactional
@@ -98,48 +204,489 @@ public class ProdutoService {
         }
 
         produtoRepository.delete(produto);
+        produtoExclusaoRepository.save(new ProdutoExclusao(id));
+        eventosCatalogoService.publicarAposCommit(EventoCatalogoDto.exclusao(id));
+    }
+
+    /**
+     * Retorna os produtos criados/alterados e os IDs excluídos desde a posição informada.
+     * @param desde Data/hora ISO, token de uma resposta anterior, ou vazio para o catálogo completo.
+     * @param limite Quantidade máxima de produtos (e de exclusões) por resposta.
+     * @return As alterações e o token para continuar a sincronização.
+     */
+    @Transactional(readOnly = true)
+    public AlteracoesCatalogoDto buscarAlteracoes(String desde, int limite) {
+        CursorSincronizacao cursor = CursorSincronizacao.parse(desde);
+        // Alterações mais recentes ainda podem ter transações mais antigas pendentes; ficam para a próxima chamada
+        LocalDateTime ate = LocalDateTime.now().minus(duracaoMaximaTransacao);
+
+        List<Produto> produtos = produtoRepository.findAlteradosDesde(
+                cursor.getProdutoData(), cursor.getProdutoId(), ate, Limit.of(limite + 1));
+        boolean temMaisProdutos = produtos.size() > limite;
+        if (temMaisProdutos) {
+            produtos = produtos.subList(0, limite);
+        }
+        if (!produtos.isEmpty()) {
+            // Inicializa as imagens de todos os produtos da página com uma única consulta
+            produtoRepository.findAllComImagensByIdIn(produtos.stream().map(Produto::getId).collect(Collectors.toList()));
+            Produto ultimo = produtos.get(produtos.size() - 1);
+            cursor = cursor.comProduto(ultimo.getDataAtualizacao(), ultimo.getId());
+        }
+
+        List<ProdutoExclusao> exclusoes = produtoExclusaoRepository.findExclusoesDesde(
+                cursor.getExclusaoData(), cursor.getExclusaoId(), ate, Limit.of(limite + 1));
+        boolean temMaisExclusoes = exclusoes.size() > limite;
+        if (temMaisExclusoes) {
+            exclusoes = exclusoes.subList(0, limite);
+        }
+        if (!exclusoes.isEmpty()) {
+            ProdutoExclusao ultima = exclusoes.get(exclusoes.size() - 1);
+            cursor = cursor.comExclusao(ultima.getDataExclusao(), ultima.getId());
+        }
+
+        return new AlteracoesCatalogoDto(
+                produtos.stream().map(ProdutoDto::fromEntity).collect(Collectors.toList()),
+                exclusoes.stream().map(ProdutoExclusao::getProdutoId).collect(Collectors.toList()),
+                cursor.toToken(),
+                temMaisProdutos || temMaisExclusoes
+        );
     }
 
     public Resource carregarImagem(String nomeArquivo) throws FileNotFoundException {
         return fileStorageService.carregarArquivoComoRecurso(nomeArquivo);
     }
 
-    @Transactional
+    /**
+     * Importação sem upsert: cada linha cria um produto novo.
+     * As imagens são baixadas antes de abrir a transação, que só grava os produtos.
+     * @throws IllegalArgumentException Se algum SKU do feed já estiver cadastrado ou se repetir no feed
+     *         (nada é gravado; para atualizar produtos existentes use a importação com upsert).
+     */
     public List<Produto> importarProdutosDeJson(List<ProdutoDto> produtosDto) throws IOException {
-        List<Produto> produtosImportados = new ArrayList<>();
+        verificarSkusNovos(produtosDto);
+        Map<Produto, ProdutoImportado> produtosImportados = new LinkedHashMap<>();
+
+        for (ProdutoDto dto : produtosDto) {
+            Produto produto = dto.toEntity();
+            produto.setSku(normalizarSku(dto.getSku()));
+            ProdutoImportado importado = new ProdutoImportado(true);
+            boolean imagensCompletas = sincronizarImagens(produto, dto, new ResumoImportacao(), importado);
+            // Registra o hash para que uma importação com upsert do mesmo feed não grave nada
+            produto.setHashConteudo(imagensCompletas ? calcularHashConteudo(dto) : null);
+            produtosImportados.put(produto, importado);
+        }
+
+        // Uma única transação: se alguma linha falhar, nenhum produto é gravado
+        List<Produto> produtos = new ArrayList<>(produtosImportados.keySet());
+        transacaoDeGravacao().executeWithoutResult(status -> gravarImportados(produtos, produtosImportados));
+        return produtos;
+    }
+
+    /**
+     * Importa o feed do fornecedor de forma idempotente. Cada linha é localizada pela chave natural
+     * (SKU ou, na falta dele, nome + fabricante) e só é gravada quando o hash do conteúdo difere do
+     * registrado na última importação. Imagens são comparadas pela URL de origem: só URLs novas são
+     * baixadas e as que saíram do feed são removidas; imagens enviadas por upload não são alteradas.
+     * As imagens mantidas são revalidadas com GET condicional (ETag/Last-Modified) e só baixadas de novo se mudaram.
+     * Downloads e revalidações rodam fora de transação, sobre os produtos desanexados; as alterações são
+     * gravadas depois em blocos de tecnova.lote.tamanho-bloco produtos, cada bloco em sua própria transação.
+     * A falha de um bloco não desfaz os anteriores: como só as linhas gravadas têm o hash registrado,
+     * reimportar o feed retoma do ponto em que parou.
+     * @param produtosDto Linhas do feed.
+     * @param revalidarImagens Revalida também as imagens dos produtos cujo conteúdo no feed não mudou.
+     * @return As quantidades de produtos inseridos, atualizados e inalterados.
+     */
+    public ResultadoImportacaoDto importarProdutosComUpsert(List<ProdutoDto> produtosDto, boolean revalidarImagens) throws IOException {
+        Map<String, Produto> porSku = new HashMap<>();
+        Map<String, Produto> porNomeFabricante = new HashMap<>();
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        leitura.executeWithoutResult(status -> {
+            carregarCandidatosImportacao(produtosDto, porSku, porNomeFabricante);
+
+            // Inicializa as imagens dos produtos que serão alterados (ou revalidados) com uma consulta por bloco (evita N+1)
+            List<Long> idsAlterados = new ArrayList<>();
+            for (ProdutoDto dto : produtosDto) {
+                Produto existente = localizarExistente(dto, porSku, porNomeFabricante);
+                if (existente != null && (revalidarImagens || !calcularHashConteudo(dto).equals(existente.getHashConteudo()))) {
+                    idsAlterados.add(existente.getId());
+                }
+            }
+            for (List<Long> bloco : emBlocos(idsAlterados.stream().distinct().toList())) {
+                produtoRepository.findAllComImagensByIdIn(bloco);
+            }
+
+            // Se o chamador mantiver um contexto de persistência aberto (open-in-view), sem o detach o commit
+            // do primeiro bloco gravaria também as alterações dos blocos seguintes
+            porSku.values().forEach(entityManager::detach);
+            porNomeFabricante.values().forEach(entityManager::detach);
+        });
 
+        ResumoImportacao resumo = new ResumoImportacao();
+        Map<Produto, ProdutoImportado> alterados = new LinkedHashMap<>();
         for (ProdutoDto dto : produtosDto) {
-            List<MultipartFile> imagensParaUpload = new ArrayList<>();
-
-            if (dto.getImagens() != null && !dto.getImagens().isEmpty()) {
-                for (String imageUrl : dto.getImagens()) {
-                    try {
-                        byte[] imageBytes = downloadImageFromUrl(imageUrl);
-                        String originalFilename = getFilenameFromUrl(imageUrl);
-
-                        MultipartFile mockFile = new MockMultipartFile(
-                                "file", originalFilename, "image/jpeg", imageBytes
-                        );
-                        imagensParaUpload.add(mockFile);
-                    } catch (IOException e) {
-                        System.err.println("Erro ao baixar imagem da URL: " + imageUrl + " para o produto " + dto.getNome() + ". Pulando esta imagem.");
+            String hash = calcularHashConteudo(dto);
+            Produto produto = localizarExistente(dto, porSku, porNomeFabricante);
+
+            if (produto != null && hash.equals(produto.getHashConteudo())) {
+                resumo.inalterados++;
+                if (revalidarImagens) {
+                    ProdutoImportado importado = alterados.getOrDefault(produto, new ProdutoImportado(false));
+                    boolean imagemSubstituida = false;
+                    for (Imagem imagem : produto.getImagens()) {
+                        if (imagem.getUrlOrigem() != null && revalidarImagem(imagem, resumo, importado)) {
+                            imagemSubstituida = true;
+                        }
+                    }
+                    if (imagemSubstituida) {
+                        // O nome do arquivo mudou: o produto precisa entrar na sincronização incremental
+                        produto.setDataAtualizacao(LocalDateTime.now());
+                        alterados.putIfAbsent(produto, importado);
                     }
                 }
+                continue;
+            }
+
+            boolean novo = produto == null;
+            if (novo) {
+                produto = dto.toEntity();
+                produto.setId(null);
+                resumo.inseridos++;
+            } else {
+                produto.setNome(dto.getNome());
+                produto.setDescricao(dto.getTextoDescritivo());
+                produto.setFabricante(dto.getFabricante());
+                produto.setCor(dto.getCor());
+                produto.setPreco(dto.getPreco());
+                produto.setQuantidade(dto.getQuantidade());
+                produto.setDataAtualizacao(LocalDateTime.now());
+                resumo.atualizados++;
+            }
+            String sku = normalizarSku(dto.getSku());
+            if (sku != null) {
+                produto.setSku(sku);
+            }
+
+            ProdutoImportado importado = alterados.computeIfAbsent(produto, p -> new ProdutoImportado(novo));
+            boolean imagensCompletas = sincronizarImagens(produto, dto, resumo, importado);
+            // Sem o hash, a linha é processada de novo na próxima importação e as imagens que falharam são baixadas
+            produto.setHashConteudo(imagensCompletas ? hash : null);
+
+            // Linhas repetidas no mesmo feed passam a encontrar (e alterar) o mesmo produto
+            if (produto.getSku() != null) {
+                porSku.put(produto.getSku(), produto);
+            }
+            porNomeFabricante.put(chaveNomeFabricante(produto.getNome(), produto.getFabricante()), produto);
+        }
+
+        List<Produto> produtos = new ArrayList<>(alterados.keySet());
+        TransactionTemplate transacao = transacaoDeGravacao();
+        for (int inicio = 0; inicio < produtos.size(); inicio += tamanhoBloco) {
+            List<Produto> bloco = produtos.subList(inicio, Math.min(inicio + tamanhoBloco, produtos.size()));
+            transacao.executeWithoutResult(status -> gravarImportados(bloco, alterados));
+        }
+
+        return new ResultadoImportacaoDto(produtosDto.size(), resumo.inseridos, resumo.atualizados, resumo.inalterados,
+                resumo.imagensBaixadas, resumo.imagensRemovidas, resumo.imagensNaoModificadas);
+    }
+
+    // Cada transação de gravação precisa confirmar dentro da janela que a sincronização incremental espera
+    private TransactionTemplate transacaoDeGravacao() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setTimeout((int) duracaoMaximaTransacao.toSeconds());
+        return transacao;
+    }
+
+    // Grava os produtos importados na transação atual; os eventos e a limpeza de arquivos aguardam o seu desfecho
+    private void gravarImportados(List<Produto> produtos, Map<Produto, ProdutoImportado> importados) {
+        // Carrega os existentes no contexto com as imagens: o merge de cada produto desanexado não consulta de novo
+        List<Long> ids = produtos.stream().map(Produto::getId).filter(Objects::nonNull).toList();
+        if (!ids.isEmpty()) {
+            produtoRepository.findAllComImagensByIdIn(ids);
+        }
+        List<Long> criados = new ArrayList<>();
+        List<Long> atualizados = new ArrayList<>();
+        for (Produto produto : produtos) {
+            ProdutoImportado importado = importados.get(produto);
+            Produto salvo = produtoRepository.save(produto);
+            (importado.novo ? criados : atualizados).add(salvo.getId());
+            limparArquivosAoConcluir(importado);
+        }
+        // Um evento por tipo para o bloco inteiro
+        if (!criados.isEmpty()) {
+            eventosCatalogoService.publicarAposCommit(EventoCatalogoDto.lote(EventoCatalogoDto.Tipo.CRIADO, criados));
+        }
+        if (!atualizados.isEmpty()) {
+            eventosCatalogoService.publicarAposCommit(EventoCatalogoDto.lote(EventoCatalogoDto.Tipo.ATUALIZADO, atualizados));
+        }
+    }
+
+    // O SKU é único: na importação sem upsert, um SKU repetido no feed ou já cadastrado rejeita o feed antes de gravar
+    private void verificarSkusNovos(List<ProdutoDto> produtosDto) {
+        Set<String> skus = new LinkedHashSet<>();
+        Set<String> repetidos = new LinkedHashSet<>();
+        for (ProdutoDto dto : produtosDto) {
+            String sku = normalizarSku(dto.getSku());
+            if (sku != null && !skus.add(sku)) {
+                repetidos.add(sku);
+            }
+        }
+        if (!repetidos.isEmpty()) {
+            throw new IllegalArgumentException("SKUs repetidos no feed: " + String.join(", ", repetidos) + ".");
+        }
+
+        List<String> cadastrados = new ArrayList<>();
+        for (List<String> bloco : emBlocos(new ArrayList<>(skus))) {
+            for (Produto produto : produtoRepository.findBySkuIn(bloco)) {
+                cadastrados.add(produto.getSku());
+            }
+        }
+        if (!cadastrados.isEmpty()) {
+            throw new IllegalArgumentException("SKUs já cadastrados: " + String.join(", ", cadastrados)
+                    + ". Use upsert=true para atualizar os produtos existentes.");
+        }
+    }
+
+    // Busca os produtos existentes para todas as chaves do feed, em blocos de IN
+    private void carregarCandidatosImportacao(List<ProdutoDto> produtosDto, Map<String, Produto> porSku, Map<String, Produto> porNomeFabricante) {
+        List<String> skus = produtosDto.stream()
+                .map(dto -> normalizarSku(dto.getSku()))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        for (List<String> bloco : emBlocos(skus)) {
+            for (Produto produto : produtoRepository.findBySkuIn(bloco)) {
+                porSku.put(produto.getSku(), produto);
+            }
+        }
+
+        List<String> nomes = produtosDto.stream()
+                .map(ProdutoDto::getNome)
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .distinct()
+                .toList();
+        for (List<String> bloco : emBlocos(nomes)) {
+            for (Produto produto : produtoRepository.findByNomeIn(bloco)) {
+                // Havendo duplicatas de importações antigas, usa o produto mais antigo
+                porNomeFabricante.merge(chaveNomeFabricante(produto.getNome(), produto.getFabricante()), produto,
+                        (atual, outro) -> atual.getId() <= outro.getId() ? atual : outro);
+            }
+        }
+    }
+
+    private Produto localizarExistente(ProdutoDto dto, Map<String, Produto> porSku, Map<String, Produto> porNomeFabricante) {
+        String sku = normalizarSku(dto.getSku());
+        if (sku != null && porSku.containsKey(sku)) {
+            return porSku.get(sku);
+        }
+        Produto produto = porNomeFabricante.get(chaveNomeFabricante(dto.getNome(), dto.getFabricante()));
+        // Produtos com SKUs diferentes são itens diferentes do fornecedor, mesmo com nome e fabricante iguais
+        if (produto != null && sku != null && produto.getSku() != null && !produto.getSku().equals(sku)) {
+            return null;
+        }
+        return produto;
+    }
+
+    /**
+     * Faz as imagens baixadas do produto corresponderem às URLs da linha do feed, na ordem do feed.
+     * @return false se alguma imagem não pôde ser baixada.
+     */
+    private boolean sincronizarImagens(Produto produto, ProdutoDto dto, ResumoImportacao resumo, ProdutoImportado importado) throws IOException {
+        List<String> urls = dto.getImagens() == null ? List.of() : dto.getImagens().stream()
+                .filter(url -> url != null && !url.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+
+        Map<String, Imagem> atuais = new HashMap<>();
+        for (Imagem imagem : new ArrayList<>(produto.getImagens())) {
+            if (imagem.getUrlOrigem() == null) {
+                continue;
+            }
+            if (urls.contains(imagem.getUrlOrigem()) && !atuais.containsKey(imagem.getUrlOrigem())) {
+                atuais.put(imagem.getUrlOrigem(), imagem);
+            } else {
+                produto.removeImagem(imagem);
+                importado.arquivosRemovidos.add(imagem.getNomeArquivo());
+                resumo.imagensRemovidas++;
+            }
+        }
+
+        boolean completas = true;
+        for (int i = 0; i < urls.size(); i++) {
+            String url = urls.get(i);
+            Imagem imagem = atuais.get(url);
+            if (imagem == null) {
+                imagem = baixarImagem(url, produto, dto.getNome(), resumo, importado);
+                if (imagem == null) {
+                    completas = false;
+                    continue;
+                }
+                produto.addImagem(imagem);
+            } else {
+                revalidarImagem(imagem, resumo, importado);
+            }
+            if (!Integer.valueOf(i).equals(imagem.getOrdemExibicao())) {
+                imagem.setOrdemExibicao(i);
+            }
+        }
+        return completas;
+    }
+
+    // Retorna null quando o download falha (a imagem é pulada, como na importação original)
+    private Imagem baixarImagem(String imageUrl, Produto produto, String nomeProduto, ResumoImportacao resumo,
+                                ProdutoImportado importado) throws IOException {
+        DownloadImagemService.Resultado download;
+        try {
+            download = downloadImagemService.baixar(imageUrl, null);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Erro ao baixar imagem da URL: " + imageUrl + " para o produto " + nomeProduto + ". Pulando esta imagem.");
+            return null;
+        }
+        contarDownload(download, resumo);
+        Imagem imagem = new Imagem(salvarDownload(imageUrl, download), produto);
+        importado.arquivosNovos.add(imagem.getNomeArquivo());
+        imagem.setUrlOrigem(imageUrl);
+        aplicarValidadores(imagem, download);
+        return imagem;
+    }
+
+    /**
+     * Revalida uma imagem importada com os validadores guardados. Com 304 o arquivo atual é mantido;
+     * com conteúdo novo, grava outro arquivo e apaga o antigo depois do commit do bloco.
+     * Imagens sem ETag nem Last-Modified não são revalidadas (exigiriam baixar o conteúdo inteiro).
+     * @return true se o arquivo da imagem foi substituído.
+     */
+    private boolean revalidarImagem(Imagem imagem, ResumoImportacao resumo, ProdutoImportado importado) throws IOException {
+        DownloadImagemService.Validadores validadores =
+                new DownloadImagemService.Validadores(imagem.getEtag(), imagem.getUltimaModificacao());
+        if (validadores.vazios()) {
+            return false;
+        }
+        DownloadImagemService.Resultado download;
+        try {
+            download = downloadImagemService.baixar(imagem.getUrlOrigem(), validadores);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Erro ao revalidar imagem da URL: " + imagem.getUrlOrigem() + ". Mantendo o arquivo atual.");
+            return false;
+        }
+        contarDownload(download, resumo);
+        if (download.origem() == DownloadImagemService.Origem.NAO_MODIFICADA) {
+            return false;
+        }
+        String arquivoAnterior = imagem.getNomeArquivo();
+        imagem.setNomeArquivo(salvarDownload(imagem.getUrlOrigem(), download));
+        aplicarValidadores(imagem, download);
+        importado.arquivosNovos.add(imagem.getNomeArquivo());
+        importado.arquivosRemovidos.add(arquivoAnterior);
+        return true;
+    }
+
+    private String salvarDownload(String imageUrl, DownloadImagemService.Resultado download) throws IOException {
+        MultipartFile mockFile = new MockMultipartFile(
+                "file", getFilenameFromUrl(imageUrl), "image/jpeg", download.bytes()
+        );
+        return fileStorageService.salvarArquivo(mockFile);
+    }
+
+    private void aplicarValidadores(Imagem imagem, DownloadImagemService.Resultado download) {
+        imagem.setEtag(download.validadores().etag());
+        imagem.setUltimaModificacao(download.validadores().ultimaModificacao());
+        imagem.setTamanhoBytes(download.tamanho());
+    }
+
+    private void contarDownload(DownloadImagemService.Resultado download, ResumoImportacao resumo) {
+        if (download.origem() == DownloadImagemService.Origem.REDE) {
+            resumo.imagensBaixadas++;
+        } else {
+            resumo.imagensNaoModificadas++;
+        }
+    }
+
+    // Com commit, apaga os arquivos que o produto deixou de usar; com rollback, os baixados para ele.
+    // Assim o disco nunca perde uma imagem referenciada nem acumula as de um bloco desfeito.
+    private void limparArquivosAoConcluir(ProdutoImportado importado) {
+        if (importado.arquivosNovos.isEmpty() && importado.arquivosRemovidos.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                deletarArquivos(status == STATUS_COMMITTED ? importado.arquivosRemovidos : importado.arquivosNovos);
+            }
+        });
+    }
+
+    private void deletarArquivos(List<String> nomesArquivos) {
+        for (String nomeArquivo : nomesArquivos) {
+            try {
+                fileStorageService.deletarArquivo(nomeArquivo);
+            } catch (IOException e) {
+                System.err.println("Erro ao deletar arquivo de imagem do disco: " + nomeArquivo + ". Erro: " + e.getMessage());
             }
+        }
+    }
 
-            Produto produtoSalvo = this.salvarProdutoComImagens(dto, imagensParaUpload);
-            produtosImportados.add(produtoSalvo);
+    /**
+     * Hash SHA-256 (hexadecimal) dos campos da linha do feed, incluindo as URLs das imagens na ordem recebida.
+     */
+    static String calcularHashConteudo(ProdutoDto dto) {
+        String conteudo = String.join(SEPARADOR_HASH,
+                Objects.toString(normalizarSku(dto.getSku()), ""),
+                Objects.toString(dto.getNome(), ""),
+                Objects.toString(dto.getTextoDescritivo(), ""),
+                Objects.toString(dto.getFabricante(), ""),
+                Objects.toString(dto.getCor(), ""),
+                dto.getPreco() == null ? "" : dto.getPreco().stripTrailingZeros().toPlainString(),
+                Objects.toString(dto.getQuantidade(), ""),
+                dto.getImagens() == null ? "" : String.join("\n", dto.getImagens()));
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(conteudo.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
         }
-        return produtosImportados;
     }
 
-    private byte[] downloadImageFromUrl(String imageUrl) throws IOException {
-        try (InputStream in = new URL(imageUrl).openStream()) {
-            return in.readAllBytes();
+    private static String normalizarSku(String sku) {
+        return sku == null || sku.isBlank() ? null : sku.trim();
+    }
+
+    private static String chaveNomeFabricante(String nome, String fabricante) {
+        return Objects.toString(nome, "").trim().toLowerCase(Locale.ROOT) + SEPARADOR_HASH
+                + Objects.toString(fabricante, "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static <T> List<List<T>> emBlocos(List<T> itens) {
+        List<List<T>> blocos = new ArrayList<>();
+        for (int inicio = 0; inicio < itens.size(); inicio += TAMANHO_BLOCO_CONSULTA) {
+            blocos.add(itens.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_CONSULTA, itens.size())));
         }
+        return blocos;
     }
 
     private String getFilenameFromUrl(String url) {
         return url.substring(url.lastIndexOf('/') + 1);
     }
+
+    // Produto criado ou alterado pela importação, com os arquivos de imagem gravados e descartados para ele
+    private static final class ProdutoImportado {
+        final boolean novo;
+        final List<String> arquivosNovos = new ArrayList<>();
+        final List<String> arquivosRemovidos = new ArrayList<>();
+
+        ProdutoImportado(boolean novo) {
+            this.novo = novo;
+        }
+    }
+
+    private static final class ResumoImportacao {
+        int inseridos;
+        int atualizados;
+        int inalterados;
+        int imagensBaixadas;
+        int imagensRemovidas;
+        int imagensNaoModificadas;
+    }
 }
@@ -0,0 +1,401 @@
+package com.projetoIntSenai.TecnovaApplication.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Recompressão em segundo plano das imagens já gravadas em uploads/.
+ * JPEGs são regravados como JPEG progressivo sem metadados e PNGs são regravados sem perdas; o arquivo
+ * só é substituído (com move atômico, mantendo o nome) quando o resultado é menor. O progresso fica em
+ * um arquivo de checkpoint, então o job pode ser interrompido e retomado, e a leitura/escrita em disco
+ * é limitada a tecnova.recompressao.bytes-por-segundo. Arquivos cujas cores dependem de metadados (orientação
+ * EXIF, perfil ICC, gAMA/cHRM do PNG) são mantidos como estão. Depois da troca, imagens_produto.tamanho_bytes
+ * passa a ter o tamanho novo.
+ * WebP não é suportado pelo ImageIO do JDK; esses arquivos são ignorados.
+ */
+@Service
+public class RecompressaoUploadsService {
+
+    private static final String ARQUIVO_CHECKPOINT = "processados.tsv";
+    private static final List<String> EXTENSOES_JPEG = List.of(".jpg", ".jpeg");
+    private static final byte[] ASSINATURA_PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    // Chunks que alteram a interpretação das cores e que a regravação descartaria
+    private static final Set<String> CHUNKS_COR_PNG = Set.of("iCCP", "gAMA", "cHRM");
+
+    // Só as imagens importadas guardam o tamanho; uploads continuam com NULL
+    private static final String SQL_ATUALIZAR_TAMANHO =
+            "UPDATE imagens_produto SET tamanho_bytes = ? WHERE nome_arquivo = ? AND tamanho_bytes IS NOT NULL";
+
+    // Totais da execução (e acumulados de execuções anteriores, lidos do checkpoint)
+    public record Relatorio(int processados, int reduzidos, int ignorados, int falhas,
+                            long bytesAntes, long bytesDepois, long bytesEconomizadosTotal) {
+        public long bytesEconomizados() {
+            return bytesAntes - bytesDepois;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path diretorioUploads;
+    private final Path diretorioCheckpoint;
+    private final boolean habilitada;
+    private final int threads;
+    private final float qualidadeJpeg;
+    private final LimitadorBytesPorSegundo limitador;
+    private final AtomicBoolean emExecucao = new AtomicBoolean(false);
+
+    public RecompressaoUploadsService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${tecnova.uploads.diretorio:uploads}") String diretorioUploads,
+            @Value("${tecnova.recompressao.diretorio-checkpoint:recompressao}") String diretorioCheckpoint,
+            @Value("${tecnova.recompressao.habilitada:false}") boolean habilitada,
+            @Value("${tecnova.recompressao.threads:2}") int threads,
+            @Value("${tecnova.recompressao.qualidade-jpeg:0.9}") float qualidadeJpeg,
+            @Value("${tecnova.recompressao.bytes-por-segundo:5242880}") long bytesPorSegundo) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.diretorioUploads = Paths.get(diretorioUploads).toAbsolutePath().normalize();
+        this.diretorioCheckpoint = Paths.get(diretorioCheckpoint).toAbsolutePath().normalize();
+        this.habilitada = habilitada;
+        this.threads = Math.max(1, threads);
+        this.qualidadeJpeg = qualidadeJpeg;
+        this.limitador = new LimitadorBytesPorSegundo(bytesPorSegundo);
+    }
+
+    // Inicia em uma thread separada depois que a aplicação está no ar; não bloqueia requisições
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciarEmSegundoPlano() {
+        if (!habilitada) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                executar();
+            } catch (Exception e) {
+                System.err.println("[recompressao] Falha no job: " + e.getMessage());
+            }
+        }, "recompressao-uploads");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Processa todos os arquivos ainda não registrados no checkpoint.
+     * @return O relatório da execução, ou null se outra execução já estiver em andamento.
+     * @throws IOException Se o diretório de uploads ou o checkpoint não puderem ser lidos.
+     */
+    public Relatorio executar() throws IOException {
+        if (!emExecucao.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            Files.createDirectories(diretorioCheckpoint);
+            Path checkpoint = diretorioCheckpoint.resolve(ARQUIVO_CHECKPOINT);
+            Set<String> jaProcessados = new HashSet<>();
+            long economizadosAnteriores = lerCheckpoint(checkpoint, jaProcessados);
+
+            Contadores contadores = new Contadores();
+            // Pool limitado; com a fila cheia, a própria thread do job processa o arquivo (contrapressão)
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(threads * 2), new ThreadPoolExecutor.CallerRunsPolicy());
+
+            // A lista é lida antes de começar: os arquivos substituídos não voltam a aparecer na varredura
+            List<Path> pendentes;
+            try (Stream<Path> arquivos = Files.list(diretorioUploads)) {
+                pendentes = arquivos
+                        .filter(Files::isRegularFile)
+                        .filter(arquivo -> !arquivo.getFileName().toString().startsWith("."))
+                        .filter(arquivo -> !jaProcessados.contains(arquivo.getFileName().toString()))
+                        .sorted()
+                        .toList();
+            }
+
+            try (BufferedWriter registro = Files.newBufferedWriter(checkpoint, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Path arquivo : pendentes) {
+                    pool.execute(() -> processar(arquivo, registro, contadores));
+                }
+                pool.shutdown();
+                try {
+                    pool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+                } catch (InterruptedException e) {
+                    pool.shutdownNow();
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            Relatorio relatorio = new Relatorio(contadores.processados.intValue(), contadores.reduzidos.intValue(),
+                    contadores.ignorados.intValue(), contadores.falhas.intValue(),
+                    contadores.bytesAntes.get(), contadores.bytesDepois.get(),
+                    economizadosAnteriores + contadores.bytesAntes.get() - contadores.bytesDepois.get());
+            System.err.println("[recompressao] " + relatorio.processados() + " arquivos processados, "
+                    + relatorio.reduzidos() + " reduzidos, " + relatorio.bytesEconomizados() + " bytes economizados nesta execução ("
+                    + relatorio.bytesEconomizadosTotal() + " no total), " + relatorio.falhas() + " falhas.");
+            return relatorio;
+        } finally {
+            emExecucao.set(false);
+        }
+    }
+
+    private void processar(Path arquivo, BufferedWriter registro, Contadores contadores) {
+        String nome = arquivo.getFileName().toString();
+        try {
+            long antes = Files.size(arquivo);
+            limitador.aguardar(antes);
+            byte[] original = Files.readAllBytes(arquivo);
+            byte[] recomprimido = recomprimir(nome, original);
+
+            long depois = antes;
+            if (recomprimido == null) {
+                contadores.ignorados.incrementAndGet();
+            } else if (recomprimido.length < original.length) {
+                limitador.aguardar(recomprimido.length);
+                // Grava ao lado do original e troca com move atômico: leitores veem o arquivo antigo ou o novo inteiro
+                Path temporario = Files.createTempFile(diretorioUploads, ".recompressao-", ".tmp");
+                try {
+                    Files.write(temporario, recomprimido);
+                    if (!Files.exists(arquivo)) {
+                        throw new NoSuchFileException(nome);
+                    }
+                    Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temporario);
+                }
+                depois = recomprimido.length;
+                contadores.reduzidos.incrementAndGet();
+                jdbcTemplate.update(SQL_ATUALIZAR_TAMANHO, depois, nome);
+            }
+
+            contadores.processados.incrementAndGet();
+            contadores.bytesAntes.addAndGet(antes);
+            contadores.bytesDepois.addAndGet(depois);
+            registrar(registro, nome, antes, depois);
+        } catch (NoSuchFileException e) {
+            // Arquivo excluído durante o job (ex.: produto removido); nada a fazer
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            contadores.falhas.incrementAndGet();
+            System.err.println("[recompressao] Falha ao recomprimir " + nome + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Recomprime o conteúdo conforme a extensão.
+     * @return Os bytes recomprimidos, ou null se o formato não é suportado ou o arquivo deve ser mantido.
+     */
+    byte[] recomprimir(String nome, byte[] original) throws IOException {
+        String nomeMinusculo = nome.toLowerCase(Locale.ROOT);
+        boolean jpeg = EXTENSOES_JPEG.stream().anyMatch(nomeMinusculo::endsWith);
+        boolean png = nomeMinusculo.endsWith(".png");
+        if (!jpeg && !png) {
+            return null;
+        }
+        // Sem os metadados, a orientação EXIF se perderia e a foto apareceria girada
+        if (jpeg && orientacaoExif(original) > 1) {
+            return null;
+        }
+        // Nem o perfil de cor: uma foto em Adobe RGB ou Display P3 seria exibida como sRGB, com cores lavadas
+        if (jpeg ? temPerfilIccJpeg(original) : temInformacaoDeCorPng(original)) {
+            return null;
+        }
+        BufferedImage imagem = ImageIO.read(new ByteArrayInputStream(original));
+        if (imagem == null) {
+            return null;
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(jpeg ? "jpeg" : "png").next();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(original.length);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(saida)) {
+            writer.setOutput(out);
+            ImageWriteParam parametros = writer.getDefaultWriteParam();
+            if (jpeg) {
+                parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                parametros.setCompressionQuality(qualidadeJpeg);
+                parametros.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            }
+            // Metadados nulos: EXIF, XMP e comentários do original não são copiados
+            writer.write(null, new IIOImage(imagem, null, null), parametros);
+        } finally {
+            writer.dispose();
+        }
+        return saida.toByteArray();
+    }
+
+    // Lê a tag Orientation (0x0112) do segmento APP1/Exif; retorna 1 (normal) se não houver
+    static int orientacaoExif(byte[] jpeg) {
+        int posicao = 2;
+        while (posicao + 4 <= jpeg.length && (jpeg[posicao] & 0xFF) == 0xFF) {
+            int marcador = jpeg[posicao + 1] & 0xFF;
+            int tamanho = ((jpeg[posicao + 2] & 0xFF) << 8) | (jpeg[posicao + 3] & 0xFF);
+            if (marcador == 0xDA || tamanho < 2) {
+                break;
+            }
+            int inicio = posicao + 4;
+            if (marcador == 0xE1 && inicio + 14 <= jpeg.length
+                    && new String(jpeg, inicio, 4, StandardCharsets.ISO_8859_1).equals("Exif")) {
+                int tiff = inicio + 6;
+                boolean littleEndian = jpeg[tiff] == 'I';
+                int ifd = tiff + ler(jpeg, tiff + 4, 4, littleEndian);
+                if (ifd + 2 > jpeg.length) {
+                    return 1;
+                }
+                int entradas = ler(jpeg, ifd, 2, littleEndian);
+                for (int i = 0; i < entradas; i++) {
+                    int entrada = ifd + 2 + i * 12;
+                    if (entrada + 12 > jpeg.length) {
+                        return 1;
+                    }
+                    if (ler(jpeg, entrada, 2, littleEndian) == 0x0112) {
+                        return ler(jpeg, entrada + 8, 2, littleEndian);
+                    }
+                }
+                return 1;
+            }
+            posicao += 2 + tamanho;
+        }
+        return 1;
+    }
+
+    // Procura um segmento APP2 "ICC_PROFILE" antes do início dos dados da imagem (SOS)
+    static boolean temPerfilIccJpeg(byte[] jpeg) {
+        int posicao = 2;
+        while (posicao + 4 <= jpeg.length && (jpeg[posicao] & 0xFF) == 0xFF) {
+            int marcador = jpeg[posicao + 1] & 0xFF;
+            int tamanho = ((jpeg[posicao + 2] & 0xFF) << 8) | (jpeg[posicao + 3] & 0xFF);
+            if (marcador == 0xDA || tamanho < 2) {
+                break;
+            }
+            int inicio = posicao + 4;
+            if (marcador == 0xE2 && inicio + 12 <= jpeg.length
+                    && new String(jpeg, inicio, 12, StandardCharsets.ISO_8859_1).equals("ICC_PROFILE\0")) {
+                return true;
+            }
+            posicao += 2 + tamanho;
+        }
+        return false;
+    }
+
+    // Procura iCCP, gAMA ou cHRM entre os chunks anteriores aos dados da imagem (IDAT)
+    static boolean temInformacaoDeCorPng(byte[] png) {
+        if (png.length < ASSINATURA_PNG.length
+                || !Arrays.equals(png, 0, ASSINATURA_PNG.length, ASSINATURA_PNG, 0, ASSINATURA_PNG.length)) {
+            return false;
+        }
+        int posicao = ASSINATURA_PNG.length;
+        while (posicao + 8 <= png.length) {
+            long tamanho = ler(png, posicao, 4, false) & 0xFFFFFFFFL;
+            String tipo = new String(png, posicao + 4, 4, StandardCharsets.ISO_8859_1);
+            if (tipo.equals("IDAT") || tipo.equals("IEND")) {
+                break;
+            }
+            if (CHUNKS_COR_PNG.contains(tipo)) {
+                return true;
+            }
+            // Tamanho + tipo + dados + CRC
+            posicao += (int) Math.min(Integer.MAX_VALUE - posicao, 12 + tamanho);
+        }
+        return false;
+    }
+
+    private static int ler(byte[] dados, int posicao, int bytes, boolean littleEndian) {
+        int valor = 0;
+        for (int i = 0; i < bytes; i++) {
+            int b = dados[posicao + (littleEndian ? bytes - 1 - i : i)] & 0xFF;
+            valor = (valor << 8) | b;
+        }
+        return valor;
+    }
+
+    // Cada linha: nome do arquivo, bytes antes, bytes depois
+    private static long lerCheckpoint(Path checkpoint, Set<String> processados) throws IOException {
+        long economizados = 0;
+        if (!Files.exists(checkpoint)) {
+            return economizados;
+        }
+        for (String linha : Files.readAllLines(checkpoint, StandardCharsets.UTF_8)) {
+            String[] campos = linha.split("\t");
+            if (campos.length == 3) {
+                processados.add(campos[0]);
+                economizados += Long.parseLong(campos[1]) - Long.parseLong(campos[2]);
+            }
+        }
+        return economizados;
+    }
+
+    private static void registrar(BufferedWriter registro, String nome, long antes, long depois) throws IOException {
+        synchronized (registro) {
+            registro.write(nome + "\t" + antes + "\t" + depois);
+            registro.newLine();
+            registro.flush();
+        }
+    }
+
+    private static final class Contadores {
+        final AtomicLong processados = new AtomicLong();
+        final AtomicLong reduzidos = new AtomicLong();
+        final AtomicLong ignorados = new AtomicLong();
+        final AtomicLong falhas = new AtomicLong();
+        final AtomicLong bytesAntes = new AtomicLong();
+        final AtomicLong bytesDepois = new AtomicLong();
+    }
+
+    /**
+     * Limita a taxa de leitura/escrita em disco compartilhada entre as threads do job.
+     */
+    static final class LimitadorBytesPorSegundo {
+        private final long bytesPorSegundo;
+        private long proximoLivreNanos = System.nanoTime();
+
+        LimitadorBytesPorSegundo(long bytesPorSegundo) {
+            this.bytesPorSegundo = bytesPorSegundo;
+        }
+
+        void aguardar(long bytes) throws InterruptedException {
+            if (bytesPorSegundo <= 0) {
+                return;
+            }
+            long espera;
+            synchronized (this) {
+                long agora = System.nanoTime();
+                long inicio = Math.max(agora, proximoLivreNanos);
+                proximoLivreNanos = inicio + bytes * 1_000_000_000L / bytesPorSegundo;
+                espera = inicio - agora;
+            }
+            if (espera > 0) {
+                TimeUnit.NANOSECONDS.sleep(espera);
+            }
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.projetoIntSenai.TecnovaApplication.WebConfig;
 
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -15,11 +18,27 @@ public class WebConfig {
             public void addCorsMappings(CorsRegistry registry) {
                 registry.addMapping("/**")
                         .allowedOrigins("http://localhost:5500", "http://127.0.0.1:5500")// Coloque a URL do seu frontend aqui
-                        .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                        .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
+                        .exposedHeaders("ETag", "Last-Modified") // Permite ao frontend reenviar a versão em If-None-Match
                         .allowCredentials(true);
             }
         };
     }
-}
 
+    // Substitui o open-in-view do Spring Boot (spring.jpa.open-in-view=false) para poder excluir caminhos:
+    // o contexto aberto segura uma conexão do pool durante toda a requisição, o que na importação inclui os
+    // downloads de imagens e no stream SSE de eventos dura a conexão inteira
+    @Bean
+    public WebMvcConfigurer openEntityManagerInViewConfigurer(EntityManagerFactory entityManagerFactory) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addWebRequestInterceptor(interceptor)
+                        .excludePathPatterns("/api/produtos/importar", "/api/produtos/eventos");
+            }
+        };
+    }
+}
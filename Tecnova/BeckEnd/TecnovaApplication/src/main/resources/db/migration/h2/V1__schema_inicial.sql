@@ -0,0 +1,24 @@
+-- Schema inicial para o H2 (modo MySQL), usado nos testes.
+-- Deve permanecer equivalente a db/migration/mysql/V1__schema_inicial.sql.
+
+CREATE TABLE IF NOT EXISTS produtos (
+    id               BIGINT         NOT NULL AUTO_INCREMENT,
+    nome             VARCHAR(100)   NOT NULL,
+    descricao        VARCHAR(500),
+    fabricante       VARCHAR(100),
+    cor              VARCHAR(50),
+    preco            DECIMAL(15, 2) NOT NULL,
+    quantidade       INT            NOT NULL,
+    data_criacao     TIMESTAMP(6),
+    data_atualizacao TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS imagens_produto (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    nome_arquivo   VARCHAR(255) NOT NULL,
+    ordem_exibicao INT,
+    produto_id     BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_imagens_produto_produto FOREIGN KEY (produto_id) REFERENCES produtos (id)
+);
@@ -0,0 +1,7 @@
+-- Mesmos índices de db/migration/mysql/V2__indices_catalogo.sql.
+
+CREATE INDEX idx_produtos_nome ON produtos (nome);
+
+CREATE INDEX idx_produtos_data_atualizacao ON produtos (data_atualizacao);
+
+CREATE INDEX idx_imagens_produto_produto_ordem ON imagens_produto (produto_id, ordem_exibicao);
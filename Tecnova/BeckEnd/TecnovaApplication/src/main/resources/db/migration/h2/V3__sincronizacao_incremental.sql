@@ -0,0 +1,12 @@
+-- Mesmo conteúdo de db/migration/mysql/V3__sincronizacao_incremental.sql.
+
+UPDATE produtos SET data_atualizacao = data_criacao WHERE data_atualizacao IS NULL;
+
+CREATE TABLE produtos_excluidos (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    produto_id    BIGINT       NOT NULL,
+    data_exclusao TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_produtos_excluidos_data ON produtos_excluidos (data_exclusao);
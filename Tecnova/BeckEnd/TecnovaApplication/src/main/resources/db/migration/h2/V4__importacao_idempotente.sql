@@ -0,0 +1,8 @@
+-- Mesmo conteúdo de db/migration/mysql/V4__importacao_idempotente.sql.
+
+ALTER TABLE produtos ADD COLUMN sku VARCHAR(100) NULL;
+ALTER TABLE produtos ADD COLUMN hash_conteudo VARCHAR(64) NULL;
+
+CREATE UNIQUE INDEX uk_produtos_sku ON produtos (sku);
+
+ALTER TABLE imagens_produto ADD COLUMN url_origem VARCHAR(1000) NULL;
@@ -0,0 +1,5 @@
+-- Mesmo conteúdo de db/migration/mysql/V5__validadores_imagens.sql.
+
+ALTER TABLE imagens_produto ADD COLUMN etag VARCHAR(255) NULL;
+ALTER TABLE imagens_produto ADD COLUMN ultima_modificacao VARCHAR(64) NULL;
+ALTER TABLE imagens_produto ADD COLUMN tamanho_bytes BIGINT NULL;
@@ -0,0 +1,24 @@
+-- Schema inicial equivalente ao que o Hibernate gerava com ddl-auto=update.
+-- IF NOT EXISTS permite aplicar a migração sobre bancos que já existiam antes do Flyway.
+
+CREATE TABLE IF NOT EXISTS produtos (
+    id               BIGINT         NOT NULL AUTO_INCREMENT,
+    nome             VARCHAR(100)   NOT NULL,
+    descricao        VARCHAR(500),
+    fabricante       VARCHAR(100),
+    cor              VARCHAR(50),
+    preco            DECIMAL(15, 2) NOT NULL,
+    quantidade       INT            NOT NULL,
+    data_criacao     DATETIME(6),
+    data_atualizacao DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS imagens_produto (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    nome_arquivo   VARCHAR(255) NOT NULL,
+    ordem_exibicao INT,
+    produto_id     BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_imagens_produto_produto FOREIGN KEY (produto_id) REFERENCES produtos (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,13 @@
+-- Índices para as consultas mais frequentes do catálogo.
+-- Só entram índices que alguma consulta da aplicação usa: não há filtro por fabricante/cor,
+-- ordenação por preço nem busca textual (MATCH ... AGAINST), então esses índices não são criados.
+
+-- Busca por prefixo e ordenação por nome
+CREATE INDEX idx_produtos_nome ON produtos (nome);
+
+-- Listagem dos produtos alterados recentemente
+CREATE INDEX idx_produtos_data_atualizacao ON produtos (data_atualizacao);
+
+-- Carregamento das imagens de um produto (LEFT JOIN FETCH p.imagens): atende o join por produto_id
+-- e a ordenação por ordem_exibicao dentro de cada produto
+CREATE INDEX idx_imagens_produto_produto_ordem ON imagens_produto (produto_id, ordem_exibicao);
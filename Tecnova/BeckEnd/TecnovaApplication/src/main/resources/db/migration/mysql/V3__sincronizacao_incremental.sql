@@ -0,0 +1,14 @@
+-- Sincronização incremental do catálogo (GET /api/produtos/alteracoes).
+
+-- Produtos nunca atualizados passam a ter data_atualizacao = data_criacao
+UPDATE produtos SET data_atualizacao = data_criacao WHERE data_atualizacao IS NULL;
+
+-- Registro dos produtos excluídos ("tombstones")
+CREATE TABLE produtos_excluidos (
+    id            BIGINT      NOT NULL AUTO_INCREMENT,
+    produto_id    BIGINT      NOT NULL,
+    data_exclusao DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_produtos_excluidos_data ON produtos_excluidos (data_exclusao);
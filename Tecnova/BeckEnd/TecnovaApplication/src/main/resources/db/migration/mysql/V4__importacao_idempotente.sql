@@ -0,0 +1,12 @@
+-- Importação idempotente (POST /api/produtos/importar?upsert=true).
+
+-- Chave natural do fornecedor e hash (SHA-256 em hexadecimal) da última linha importada do feed
+ALTER TABLE produtos
+    ADD COLUMN sku           VARCHAR(100) NULL,
+    ADD COLUMN hash_conteudo VARCHAR(64)  NULL;
+
+CREATE UNIQUE INDEX uk_produtos_sku ON produtos (sku);
+
+-- URL de onde a imagem foi baixada; imagens enviadas por upload ficam com NULL
+ALTER TABLE imagens_produto
+    ADD COLUMN url_origem VARCHAR(1000) NULL;
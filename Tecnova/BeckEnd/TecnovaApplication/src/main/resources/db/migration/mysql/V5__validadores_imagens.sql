@@ -0,0 +1,5 @@
+-- Validadores HTTP das imagens importadas, usados para baixá-las de novo só quando mudarem na origem.
+ALTER TABLE imagens_produto
+    ADD COLUMN etag               VARCHAR(255) NULL,
+    ADD COLUMN ultima_modificacao VARCHAR(64)  NULL,
+    ADD COLUMN tamanho_bytes      BIGINT       NULL;
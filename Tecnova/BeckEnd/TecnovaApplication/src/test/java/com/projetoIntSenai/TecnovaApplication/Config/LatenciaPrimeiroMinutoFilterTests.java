@@ -0,0 +1,43 @@
+package com.projetoIntSenai.TecnovaApplication.Config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatenciaPrimeiroMinutoFilterTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void soMedeDentroDaJanelaAposLiberarOTrafego() throws Exception {
+        LatenciaPrimeiroMinutoFilter filtro = new LatenciaPrimeiroMinutoFilter(Duration.ofMillis(200), registry);
+
+        requisicao(filtro);
+        assertThat(registry.find("tecnova.inicializacao.latencia_primeiro_minuto").timer()).isNull();
+
+        filtro.iniciarJanela(true);
+        requisicao(filtro);
+        requisicao(filtro);
+        Timer timer = registry.get("tecnova.inicializacao.latencia_primeiro_minuto").tag("aquecido", "true").timer();
+        assertThat(timer.count()).isEqualTo(2);
+
+        // Só a primeira liberação abre a janela
+        filtro.iniciarJanela(false);
+        assertThat(registry.find("tecnova.inicializacao.latencia_primeiro_minuto").tag("aquecido", "false").timer()).isNull();
+
+        Thread.sleep(250);
+        requisicao(filtro);
+        assertThat(timer.count()).isEqualTo(2);
+    }
+
+    private void requisicao(LatenciaPrimeiroMinutoFilter filtro) throws Exception {
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/produtos"), new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
@@ -0,0 +1,102 @@
+package com.projetoIntSenai.TecnovaApplication.Config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LimitadorAdaptativoTests {
+
+    private static final long MS = 1_000_000L;
+
+    // Relógio controlado pelo teste; cada janela dura 100 ms e precisa de 4 amostras
+    private final AtomicLong relogio = new AtomicLong();
+
+    @Test
+    void rejeitaAcimaDoLimite() {
+        LimitadorAdaptativo limitador = criar(2, 1, 10, 0);
+
+        assertThat(limitador.tentarAdquirir()).isTrue();
+        assertThat(limitador.tentarAdquirir()).isTrue();
+        assertThat(limitador.tentarAdquirir()).isFalse();
+        assertThat(limitador.getRejeitadas()).isEqualTo(1);
+
+        limitador.liberar(10 * MS, false);
+        assertThat(limitador.tentarAdquirir()).isTrue();
+    }
+
+    @Test
+    void aumentaComLatenciaEstavelEReduzUmaVezPorJanelaQuandoLatenciaSobe() {
+        LimitadorAdaptativo limitador = criar(4, 1, 10, 0);
+
+        for (int i = 0; i < 10; i++) {
+            janela(limitador, 10 * MS);
+        }
+        assertThat(limitador.getLimite()).isEqualTo(10);
+
+        // Várias conclusões lentas na mesma janela reduzem o limite uma única vez
+        janela(limitador, 100 * MS);
+        assertThat(limitador.getLimite()).isEqualTo(5);
+    }
+
+    @Test
+    void amostraLentaIsoladaNaoReduzOLimite() {
+        LimitadorAdaptativo limitador = criar(8, 1, 8, 0);
+        janela(limitador, 10 * MS);
+
+        // Uma pausa longa entre várias amostras normais: o percentil 90 da janela continua normal
+        for (int i = 0; i < 9; i++) {
+            assertThat(limitador.tentarAdquirir()).isTrue();
+            limitador.liberar(10 * MS, false);
+        }
+        limitador.tentarAdquirir();
+        relogio.addAndGet(100 * MS);
+        limitador.liberar(500 * MS, false);
+        assertThat(limitador.getLimite()).isEqualTo(8);
+    }
+
+    @Test
+    void reduzQuandoRequisicaoFalhaOuPassaDaLatenciaMaxima() {
+        LimitadorAdaptativo limitador = criar(8, 2, 10, 50);
+
+        limitador.tentarAdquirir();
+        limitador.liberar(10 * MS, true);
+        janela(limitador, 10 * MS);
+        assertThat(limitador.getLimite()).isEqualTo(4);
+
+        limitador.tentarAdquirir();
+        limitador.liberar(60 * MS, false);
+        janela(limitador, 10 * MS);
+        assertThat(limitador.getLimite()).isEqualTo(2);
+
+        limitador.tentarAdquirir();
+        limitador.liberar(60 * MS, false);
+        janela(limitador, 10 * MS);
+        assertThat(limitador.getLimite()).isEqualTo(2);
+    }
+
+    private LimitadorAdaptativo criar(int inicial, int minimo, int maximo, long latenciaMaximaMs) {
+        return new LimitadorAdaptativo("teste", inicial, minimo, maximo, 0.5, 2.0, latenciaMaximaMs,
+                100, 4, 0.9, relogio::get);
+    }
+
+    // Ocupa todo o limite e libera tudo com a mesma latência; o relógio só avança antes da última liberação,
+    // então a janela fecha exatamente com as amostras desta chamada
+    private void janela(LimitadorAdaptativo limitador, long latencia) {
+        int adquiridas = 0;
+        while (limitador.tentarAdquirir()) {
+            adquiridas++;
+        }
+        for (int i = 1; i < adquiridas; i++) {
+            limitador.liberar(latencia, false);
+        }
+        // Completa o mínimo de amostras quando o limite é menor que ele
+        for (int i = adquiridas; i < 4; i++) {
+            limitador.tentarAdquirir();
+            limitador.liberar(latencia, false);
+        }
+        relogio.addAndGet(Math.max(100 * MS, latencia * 2));
+        limitador.liberar(latencia, false);
+    }
+}
@@ -0,0 +1,37 @@
+package com.projetoIntSenai.TecnovaApplication.Config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LimiteConcorrenciaFilterTests {
+
+    private final LimiteConcorrenciaProperties properties = new LimiteConcorrenciaProperties();
+    private final LimitadorAdaptativo leitura = properties.getLeitura().criarLimitador("leitura");
+    private final LimitadorAdaptativo listagem = properties.getListagem().criarLimitador("listagem");
+    private final LimitadorAdaptativo upload = properties.getUpload().criarLimitador("upload");
+    private final LimitadorAdaptativo importacao = properties.getImportacao().criarLimitador("importacao");
+    private final LimiteConcorrenciaFilter filtro =
+            new LimiteConcorrenciaFilter(leitura, listagem, upload, importacao, 1, new ObjectMapper());
+
+    @Test
+    void listagensCompletasTemParticaoPropria() {
+        assertThat(particao("GET", "/api/produtos")).isSameAs(listagem);
+        assertThat(particao("GET", "/api/produtos/alteracoes")).isSameAs(listagem);
+        assertThat(particao("GET", "/api/produtos/lote")).isSameAs(listagem);
+        assertThat(particao("POST", "/api/produtos/lote")).isSameAs(listagem);
+
+        assertThat(particao("GET", "/api/produtos/42")).isSameAs(leitura);
+        assertThat(particao("GET", "/api/produtos/search")).isSameAs(leitura);
+        assertThat(particao("GET", "/api/produtos/imagens/foto.jpg")).isSameAs(leitura);
+
+        assertThat(particao("POST", "/api/produtos")).isSameAs(upload);
+        assertThat(particao("POST", "/api/produtos/importar")).isSameAs(importacao);
+    }
+
+    private LimitadorAdaptativo particao(String metodo, String caminho) {
+        return filtro.particao(new MockHttpServletRequest(metodo, caminho));
+    }
+}
@@ -0,0 +1,127 @@
+package com.projetoIntSenai.TecnovaApplication.Config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Usa dois bancos H2 independentes como primário e réplica para verificar o roteamento.
+ */
+class ReadWriteRoutingDataSourceTests {
+
+    private final AtomicBoolean replicaDisponivel = new AtomicBoolean(true);
+    private DataSource primario;
+    private DataSource replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate leitura;
+    private TransactionTemplate escrita;
+
+    @BeforeEach
+    void setUp() {
+        primario = bancoComOrigem("primario");
+        replica = bancoComOrigem("replica");
+
+        ReadWriteRoutingDataSource roteamento = new ReadWriteRoutingDataSource(primario, replica, replicaDisponivel::get);
+        roteamento.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(roteamento);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        escrita = new TransactionTemplate(transactionManager);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadWriteRoutingDataSource.limpar();
+        new JdbcTemplate(primario).execute("DROP ALL OBJECTS");
+        new JdbcTemplate(replica).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void transacaoSomenteLeituraVaiParaReplica() {
+        assertThat(origem(leitura)).isEqualTo("replica");
+    }
+
+    @Test
+    void transacaoDeEscritaVaiParaPrimario() {
+        assertThat(origem(escrita)).isEqualTo("primario");
+    }
+
+    @Test
+    void leituraVaiParaPrimarioQuandoReplicaEstaAtrasada() {
+        replicaDisponivel.set(false);
+        assertThat(origem(leitura)).isEqualTo("primario");
+    }
+
+    @Test
+    void leituraVaiParaPrimarioDepoisDeEscritaDoCliente() {
+        ReadWriteRoutingDataSource.forcarPrimario();
+        assertThat(origem(leitura)).isEqualTo("primario");
+    }
+
+    @Test
+    void postDeEscritaVaiParaPrimarioEEmiteCookie() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(origemNoFiltro(new MockHttpServletRequest("POST", "/api/produtos"), response)).isEqualTo("primario");
+        assertThat(response.getCookie(ReadYourWritesFilter.COOKIE)).isNotNull();
+    }
+
+    @Test
+    void postDeConsultaEmLoteContinuaNaReplica() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(origemNoFiltro(new MockHttpServletRequest("POST", "/api/produtos/lote"), response)).isEqualTo("replica");
+        assertThat(response.getCookie(ReadYourWritesFilter.COOKIE)).isNull();
+    }
+
+    @Test
+    void monitorMarcaReplicaIndisponivelAcimaDoAtrasoMaximo() {
+        ReplicaDataSourceProperties properties = new ReplicaDataSourceProperties();
+        properties.setMaxLagSeconds(5);
+        properties.setLagQuery("SELECT 2");
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, properties);
+
+        monitor.verificar();
+        assertThat(monitor.isDisponivel()).isTrue();
+
+        properties.setLagQuery("SELECT 30");
+        monitor.verificar();
+        assertThat(monitor.isDisponivel()).isFalse();
+
+        properties.setLagQuery("SELECT * FROM tabela_inexistente");
+        monitor.verificar();
+        assertThat(monitor.isDisponivel()).isFalse();
+    }
+
+    private String origemNoFiltro(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicReference<String> origem = new AtomicReference<>();
+        new ReadYourWritesFilter(5).doFilter(request, response, (req, res) -> origem.set(origem(leitura)));
+        return origem.get();
+    }
+
+    private String origem(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT nome FROM origem", String.class));
+    }
+
+    private DataSource bancoComOrigem(String nome) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE origem (nome VARCHAR(20))");
+        template.update("INSERT INTO origem (nome) VALUES (?)", nome);
+        return dataSource;
+    }
+}
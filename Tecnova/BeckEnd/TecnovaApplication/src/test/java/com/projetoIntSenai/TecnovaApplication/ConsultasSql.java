@@ -0,0 +1,36 @@
+package com.projetoIntSenai.TecnovaApplication;
+
+import com.projetoIntSenai.TecnovaApplication.Config.ContadorConsultas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * API de teste para limitar a quantidade de comandos SQL de uma operação e pegar regressões de N+1.
+ * Ex.: ConsultasSql.assertNoMaximo(1, () -> mockMvc.perform(get("/api/produtos")));
+ */
+public final class ConsultasSql {
+
+    @FunctionalInterface
+    public interface Acao {
+        void executar() throws Exception;
+    }
+
+    private ConsultasSql() {}
+
+    public static int contar(Acao acao) throws Exception {
+        ContadorConsultas.Contagem contagem = ContadorConsultas.iniciar();
+        try {
+            acao.executar();
+        } finally {
+            contagem.encerrar();
+        }
+        return contagem.getTotal();
+    }
+
+    public static void assertNoMaximo(int maximo, Acao acao) throws Exception {
+        int total = contar(acao);
+        assertThat(total)
+                .as("comandos SQL executados (máximo %d)", maximo)
+                .isLessThanOrEqualTo(maximo);
+    }
+}
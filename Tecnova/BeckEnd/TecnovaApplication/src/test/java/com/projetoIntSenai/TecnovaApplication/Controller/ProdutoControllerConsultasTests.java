@@ -0,0 +1,315 @@
+package com.projetoIntSenai.TecnovaApplication.Controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static com.projetoIntSenai.TecnovaApplication.ConsultasSql.assertNoMaximo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Orçamento de comandos SQL de cada rota de ProdutoController.
+ * Uma rota que passa a executar uma consulta por produto/imagem (N+1) quebra estes testes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProdutoControllerConsultasTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void listagemUsaUmaConsultaIndependenteDaQuantidadeDeProdutos() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            criarProduto("Listagem " + i, 2);
+        }
+        assertNoMaximo(1, () -> mockMvc.perform(get("/api/produtos")).andExpect(status().isOk()));
+        assertNoMaximo(1, () -> mockMvc.perform(get("/api/produtos")
+                .accept(ProdutoController.MEDIA_TYPE_COMPACTO)).andExpect(status().isOk()));
+    }
+
+    @Test
+    void listagemComFieldsNaoConsultaImagensNemColunasNaoPedidas() throws Exception {
+        criarProduto("Campos", 2);
+        assertNoMaximo(1, () -> mockMvc.perform(get("/api/produtos").param("fields", "id,nome,preco,quantidade"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").exists())
+                .andExpect(jsonPath("$[0].textoDescritivo").doesNotExist())
+                .andExpect(jsonPath("$[0].imagens").doesNotExist()));
+        assertNoMaximo(2, () -> mockMvc.perform(get("/api/produtos").param("fields", "nome,imagens"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].imagens").isArray()));
+        mockMvc.perform(get("/api/produtos").param("fields", "nome,senha"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void detalheComFieldsUsaUmaConsultaPorTabela() throws Exception {
+        long id = criarProduto("Campos Detalhe", 2).path("id").asLong();
+        assertNoMaximo(1, () -> mockMvc.perform(get("/api/produtos/" + id).param("fields", "nome,preco"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Campos Detalhe"))
+                .andExpect(jsonPath("$.cor").doesNotExist()));
+        assertNoMaximo(2, () -> mockMvc.perform(get("/api/produtos/" + id).param("fields", "imagens"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imagens.length()").value(2)));
+    }
+
+    @Test
+    void detalheUsaUmaConsulta() throws Exception {
+        long id = criarProduto("Detalhe", 2).path("id").asLong();
+        assertNoMaximo(1, () -> mockMvc.perform(get("/api/produtos/" + id)).andExpect(status().isOk()));
+        assertNoMaximo(1, () -> mockMvc.perform(get("/api/produtos/" + id)
+                .accept(ProdutoController.MEDIA_TYPE_COMPACTO)).andExpect(status().isOk()));
+    }
+
+    @Test
+    void imagensVemNaOrdemDeExibicao() throws Exception {
+        JsonNode produto = criarProduto("Ordem Imagens", 3);
+        long id = produto.path("id").asLong();
+        // Inverte a ordem de exibição em relação à ordem de inserção (id)
+        jdbcTemplate.update("UPDATE imagens_produto SET ordem_exibicao = 1000000 - id WHERE produto_id = ?", id);
+        String primeira = produto.path("imagens").get(2).asText();
+        String ultima = produto.path("imagens").get(0).asText();
+
+        mockMvc.perform(get("/api/produtos/" + id))
+                .andExpect(jsonPath("$.imagens[0]").value(primeira))
+                .andExpect(jsonPath("$.imagens[2]").value(ultima));
+        mockMvc.perform(get("/api/produtos/lote").param("ids", Long.toString(id)))
+                .andExpect(jsonPath("$.produtos[0].imagens[0]").value(primeira));
+        mockMvc.perform(get("/api/produtos/" + id).param("fields", "id,imagens"))
+                .andExpect(jsonPath("$.imagens[0]").value(primeira));
+        mockMvc.perform(get("/api/produtos").param("fields", "id,imagens"))
+                .andExpect(jsonPath("$[?(@.id == " + id + ")].imagens[0]").value(primeira));
+    }
+
+    @Test
+    void detalheCondicionalRespondido304SoComAVersao() throws Exception {
+        long id = criarProduto("Condicional", 2).path("id").asLong();
+        String etag = mockMvc.perform(get("/api/produtos/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNoMaximo(1, () -> mockMvc.perform(get("/api/produtos/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string("")));
+
+        // Após uma alteração, a mesma ETag recebe o produto completo
+        mockMvc.perform(patch("/api/produtos/precos-estoque").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"id\":" + id + ",\"quantidade\":42}]")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/produtos/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantidade").value(42));
+    }
+
+    @Test
+    void buscaPorPrefixoUsaIdsEUmaConsultaComImagens() throws Exception {
+        criarProduto("Busca Prefixo B", 2);
+        criarProduto("Busca Prefixo A", 1);
+        criarProduto("Outra Busca Prefixo", 1);
+        assertNoMaximo(2, () -> mockMvc.perform(get("/api/produtos/search").param("nome", "Busca Prefixo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].nome").value("Busca Prefixo A"))
+                .andExpect(jsonPath("$[1].imagens.length()").value(2)));
+        // % e _ do termo não são curingas
+        mockMvc.perform(get("/api/produtos/search").param("nome", "Busca%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void loteUsaUmaConsultaEMantemAOrdemPedida() throws Exception {
+        long id1 = criarProduto("Lote A", 2).path("id").asLong();
+        long id2 = criarProduto("Lote B", 1).path("id").asLong();
+        long inexistente = 999_999L;
+        assertNoMaximo(1, () -> mockMvc.perform(get("/api/produtos/lote").param("ids", id2 + "," + inexistente + "," + id1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.produtos[0].id").value(id2))
+                .andExpect(jsonPath("$.produtos[1].id").value(id1))
+                .andExpect(jsonPath("$.produtos[1].imagens.length()").value(2))
+                .andExpect(jsonPath("$.idsNaoEncontrados[0]").value(inexistente)));
+    }
+
+    @Test
+    void loteAcimaDoLimiteRetorna400() throws Exception {
+        String ids = LongStream.rangeClosed(1, ProdutoController.LIMITE_LOTE_MAXIMO + 1)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(",", "[", "]"));
+        mockMvc.perform(post("/api/produtos/lote").contentType(MediaType.APPLICATION_JSON).content(ids))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void alteracoesUsamProdutosImagensEExclusoes() throws Exception {
+        criarProduto("Alteracoes", 2);
+        assertNoMaximo(3, () -> mockMvc.perform(get("/api/produtos/alteracoes")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void criacaoInsereProdutoEImagens() throws Exception {
+        assertNoMaximo(3, () -> criarProduto("Criacao", 2));
+    }
+
+    @Test
+    void atualizacaoCarregaAtualizaEInsereNovasImagens() throws Exception {
+        long id = criarProduto("Atualizacao", 1).path("id").asLong();
+        assertNoMaximo(3, () -> mockMvc.perform(multipart("/api/produtos/" + id)
+                        .file(produtoJson("Atualizacao 2"))
+                        .file(imagem("novasImagens"))
+                        .with(request -> {
+                            request.setMethod("PUT");
+                            return request;
+                        }))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void exclusaoRemoveImagensProdutoERegistraTombstone() throws Exception {
+        long id = criarProduto("Exclusao", 2).path("id").asLong();
+        // carga (1) + imagens (2) + produto (1) + tombstone (1)
+        assertNoMaximo(5, () -> mockMvc.perform(delete("/api/produtos/" + id)).andExpect(status().isNoContent()));
+    }
+
+    @Test
+    void exclusaoEmMassaUsaComandosPorConjunto() throws Exception {
+        long id1 = criarProduto("Exclusao Massa 1", 2).path("id").asLong();
+        long id2 = criarProduto("Exclusao Massa 2", 2).path("id").asLong();
+        long id3 = criarProduto("Exclusao Massa 3", 0).path("id").asLong();
+        long inexistente = 999_998L;
+        // Por bloco: produtos existentes + imagens + DELETE imagens + DELETE produtos + lote de tombstones
+        assertNoMaximo(5, () -> mockMvc.perform(post("/api/produtos/exclusao-em-massa")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + id1 + "," + id2 + "," + id3 + "," + inexistente + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.excluidos").value(3))
+                .andExpect(jsonPath("$.imagensExcluidas").value(4))
+                .andExpect(jsonPath("$.arquivosRemovidos").value(4))
+                .andExpect(jsonPath("$.idsNaoEncontrados[0]").value(inexistente)));
+        mockMvc.perform(get("/api/produtos/" + id1)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void atualizacaoEmMassaUsaUmLotePorBloco() throws Exception {
+        long id1 = criarProduto("Lote 1", 0).path("id").asLong();
+        long id2 = criarProduto("Lote 2", 0).path("id").asLong();
+        String corpo = "[{\"id\":" + id1 + ",\"preco\":11.5},{\"id\":" + id2 + ",\"quantidade\":9}]";
+        assertNoMaximo(1, () -> mockMvc.perform(patch("/api/produtos/precos-estoque")
+                .contentType(MediaType.APPLICATION_JSON).content(corpo)).andExpect(status().isOk()));
+    }
+
+    @Test
+    void importacaoSemImagensInsereUmaLinhaPorProduto() throws Exception {
+        String corpo = "[{\"nome\":\"Importado\",\"fabricante\":\"F\",\"cor\":\"Preto\",\"preco\":10,\"quantidade\":1}]";
+        assertNoMaximo(1, () -> mockMvc.perform(post("/api/produtos/importar")
+                .contentType(MediaType.APPLICATION_JSON).content(corpo)).andExpect(status().isCreated()));
+    }
+
+    @Test
+    void reimportacaoComUpsertSoConsultaQuandoNadaMudou() throws Exception {
+        String corpo = "[{\"sku\":\"UPS-1\",\"nome\":\"Upsert 1\",\"fabricante\":\"F\",\"cor\":\"Preto\",\"preco\":10,\"quantidade\":1}," +
+                "{\"nome\":\"Upsert 2\",\"fabricante\":\"F\",\"cor\":\"Azul\",\"preco\":20.00,\"quantidade\":2}]";
+        importarComUpsert(corpo).andExpect(jsonPath("$.inseridos").value(2));
+
+        // Busca por SKU + busca por nome; nenhuma escrita
+        assertNoMaximo(2, () -> importarComUpsert(corpo)
+                .andExpect(jsonPath("$.inalterados").value(2))
+                .andExpect(jsonPath("$.inseridos").value(0)));
+    }
+
+    @Test
+    void reimportacaoComUpsertBaixaSoAsImagensNovas() throws Exception {
+        HttpServer servidor = servidorDeImagens();
+        try {
+            String base = "http://127.0.0.1:" + servidor.getAddress().getPort();
+            String foto1 = base + "/foto1.jpg";
+            String foto2 = base + "/foto2.jpg";
+            String foto3 = base + "/foto3.jpg";
+            String modelo = "[{\"sku\":\"UPS-IMG\",\"nome\":\"Upsert Imagens\",\"fabricante\":\"F\",\"cor\":\"Preto\",\"preco\":%s,\"quantidade\":1,\"imagens\":[%s]}]";
+            importarComUpsert(String.format(modelo, "10", "\"" + foto1 + "\",\"" + foto2 + "\""))
+                    .andExpect(jsonPath("$.imagensBaixadas").value(2));
+
+            // Buscas (2) + imagens do produto alterado (1) + recarga no bloco de gravação (1) + produto (1)
+            // + remoção e inserção de uma imagem (2) + ordem (1)
+            assertNoMaximo(8, () -> importarComUpsert(String.format(modelo, "12", "\"" + foto3 + "\",\"" + foto2 + "\""))
+                    .andExpect(jsonPath("$.atualizados").value(1))
+                    .andExpect(jsonPath("$.imagensBaixadas").value(1))
+                    .andExpect(jsonPath("$.imagensRemovidas").value(1)));
+        } finally {
+            servidor.stop(0);
+        }
+    }
+
+    @Test
+    void imagemNaoConsultaOBanco() throws Exception {
+        String url = criarProduto("Imagem", 1).path("imagens").get(0).asText();
+        String nomeArquivo = url.substring(url.lastIndexOf('/') + 1);
+        assertNoMaximo(0, () -> mockMvc.perform(get("/api/produtos/imagens/" + nomeArquivo)).andExpect(status().isOk()));
+    }
+
+    private ResultActions importarComUpsert(String corpo) throws Exception {
+        return mockMvc.perform(post("/api/produtos/importar").param("upsert", "true")
+                .contentType(MediaType.APPLICATION_JSON).content(corpo)).andExpect(status().isOk());
+    }
+
+    // Servidor HTTP local: a importação só aceita URLs http/https
+    private HttpServer servidorDeImagens() throws Exception {
+        HttpServer servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/", troca -> {
+            byte[] conteudo = {1, 2, 3};
+            troca.sendResponseHeaders(200, conteudo.length);
+            try (OutputStream corpo = troca.getResponseBody()) {
+                corpo.write(conteudo);
+            }
+        });
+        servidor.start();
+        return servidor;
+    }
+
+    private JsonNode criarProduto(String nome, int imagens) throws Exception {
+        var requisicao = multipart("/api/produtos").file(produtoJson(nome));
+        for (int i = 0; i < imagens; i++) {
+            requisicao.file(imagem("imagens"));
+        }
+        String resposta = mockMvc.perform(requisicao)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta);
+    }
+
+    private MockMultipartFile produtoJson(String nome) {
+        String json = "{\"nome\":\"" + nome + "\",\"fabricante\":\"Tecnova\",\"cor\":\"Preto\",\"preco\":100.00,\"quantidade\":5}";
+        return new MockMultipartFile("produto", "", MediaType.APPLICATION_JSON_VALUE, json.getBytes());
+    }
+
+    private MockMultipartFile imagem(String parte) {
+        return new MockMultipartFile(parte, "foto.jpg", MediaType.IMAGE_JPEG_VALUE, new byte[]{1, 2, 3});
+    }
+}
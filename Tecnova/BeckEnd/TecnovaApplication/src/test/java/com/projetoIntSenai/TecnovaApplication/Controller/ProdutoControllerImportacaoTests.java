@@ -0,0 +1,126 @@
+package com.projetoIntSenai.TecnovaApplication.Controller;
+
+import com.sun.net.httpserver.HttpServer;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Importação sem upsert com SKU: a coluna é única, então SKUs repetidos ou já cadastrados são rejeitados
+ * com 400 antes de gravar qualquer linha (em vez de um 500 no meio da transação).
+ * Nas duas importações, os downloads de imagens acontecem sem transação nem conexão do pool em uso.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProdutoControllerImportacaoTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void reimportacaoComSkuJaCadastradoRetorna400SemGravarNada() throws Exception {
+        importar("[" + linha("LEG-1", "Legado 1") + "]").andExpect(status().isCreated());
+
+        importar("[" + linha("LEG-2", "Legado 2") + "," + linha("LEG-1", "Legado 1") + "]")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("LEG-1")))
+                .andExpect(jsonPath("$.message", containsString("upsert=true")));
+
+        // LEG-2 não foi gravado: a mesma linha sozinha ainda é aceita
+        importar("[" + linha("LEG-2", "Legado 2") + "]").andExpect(status().isCreated());
+    }
+
+    @Test
+    void skuRepetidoNoFeedRetorna400() throws Exception {
+        importar("[" + linha("LEG-REP", "Repetido A") + "," + linha("LEG-REP", "Repetido B") + "]")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("LEG-REP")));
+        mockMvc.perform(get("/api/produtos/search").param("nome", "Repetido"))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void linhasSemSkuContinuamCriandoProdutos() throws Exception {
+        String semSku = "{\"nome\":\"Sem SKU\",\"fabricante\":\"F\",\"cor\":\"Preto\",\"preco\":10,\"quantidade\":1,\"sku\":\" \"}";
+        importar("[" + semSku + "," + semSku + "]").andExpect(status().isCreated());
+        importar("[" + semSku + "]").andExpect(status().isCreated());
+    }
+
+    @Test
+    void cadastroComSkuJaUsadoRetorna409() throws Exception {
+        importar("[" + linha("CAD-1", "Cadastro 1") + "]").andExpect(status().isCreated());
+        mockMvc.perform(multipart("/api/produtos").file(new MockMultipartFile("produto", "", MediaType.APPLICATION_JSON_VALUE,
+                        linha("CAD-1", "Cadastro 2").getBytes())))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("CONFLITO"));
+    }
+
+    @Test
+    void downloadsDaImportacaoNaoSeguramConexao() throws Exception {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        AtomicInteger downloads = new AtomicInteger();
+        AtomicInteger maximoConexoesEmUso = new AtomicInteger();
+        HttpServer servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/", troca -> {
+            downloads.incrementAndGet();
+            maximoConexoesEmUso.accumulateAndGet(pool.getHikariPoolMXBean().getActiveConnections(), Math::max);
+            byte[] conteudo = {1, 2, 3};
+            troca.sendResponseHeaders(200, conteudo.length);
+            try (OutputStream corpo = troca.getResponseBody()) {
+                corpo.write(conteudo);
+            }
+        });
+        servidor.start();
+        try {
+            String base = "http://127.0.0.1:" + servidor.getAddress().getPort();
+            String modelo = "[{\"sku\":\"%s\",\"nome\":\"Conexao Download\",\"fabricante\":\"F\",\"cor\":\"Preto\","
+                    + "\"preco\":%s,\"quantidade\":1,\"imagens\":[\"%s\"]}]";
+            importar(String.format(modelo, "CON-1", "10", base + "/a.jpg")).andExpect(status().isCreated());
+            importarComUpsert(String.format(modelo, "CON-2", "10", base + "/b.jpg"))
+                    .andExpect(jsonPath("$.inseridos").value(1));
+            importarComUpsert(String.format(modelo, "CON-2", "12", base + "/c.jpg"))
+                    .andExpect(jsonPath("$.atualizados").value(1))
+                    .andExpect(jsonPath("$.imagensRemovidas").value(1));
+        } finally {
+            servidor.stop(0);
+        }
+
+        assertThat(downloads).hasValue(3);
+        assertThat(maximoConexoesEmUso).hasValue(0);
+    }
+
+    private ResultActions importar(String corpo) throws Exception {
+        return mockMvc.perform(post("/api/produtos/importar").contentType(MediaType.APPLICATION_JSON).content(corpo));
+    }
+
+    private ResultActions importarComUpsert(String corpo) throws Exception {
+        return mockMvc.perform(post("/api/produtos/importar").param("upsert", "true")
+                .contentType(MediaType.APPLICATION_JSON).content(corpo));
+    }
+
+    private static String linha(String sku, String nome) {
+        return "{\"sku\":\"" + sku + "\",\"nome\":\"" + nome + "\",\"fabricante\":\"F\",\"cor\":\"Preto\",\"preco\":10,\"quantidade\":1}";
+    }
+}
@@ -0,0 +1,59 @@
+package com.projetoIntSenai.TecnovaApplication.Dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.projetoIntSenai.TecnovaApplication.Entity.Imagem;
+import com.projetoIntSenai.TecnovaApplication.Entity.Produto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara o tamanho do payload da listagem de produtos em cada formato negociável
+ * (JSON, JSON compacto, Smile e CBOR).
+ */
+class FormatosSerializacaoTests {
+
+    private static final int PRODUTOS = 1000;
+    private static final int IMAGENS_POR_PRODUTO = 4;
+
+    @Test
+    void formatosCompactosGeramPayloadMenorQueJson() throws Exception {
+        List<Produto> produtos = gerarProdutos();
+        List<ProdutoDto> dtos = produtos.stream().map(ProdutoDto::fromEntity).collect(Collectors.toList());
+        CatalogoCompactoDto compacto = new CatalogoCompactoDto(ProdutoDto.URL_BASE_IMAGENS,
+                produtos.stream().map(ProdutoDto::fromEntityCompacto).collect(Collectors.toList()));
+
+        ObjectMapper json = new ObjectMapper();
+        int tamanhoJson = json.writeValueAsBytes(dtos).length;
+        int tamanhoCompacto = json.writeValueAsBytes(compacto).length;
+        int tamanhoSmile = new SmileMapper().writeValueAsBytes(dtos).length;
+        int tamanhoCbor = new CBORMapper().writeValueAsBytes(dtos).length;
+        int tamanhoSmileCompacto = new SmileMapper().writeValueAsBytes(compacto).length;
+
+        assertThat(tamanhoCompacto).isLessThan(tamanhoJson);
+        assertThat(tamanhoSmile).isLessThan(tamanhoJson);
+        assertThat(tamanhoCbor).isLessThan(tamanhoJson);
+        assertThat(tamanhoSmileCompacto).isLessThan(tamanhoCompacto);
+    }
+
+    private List<Produto> gerarProdutos() {
+        List<Produto> produtos = new ArrayList<>();
+        for (long id = 1; id <= PRODUTOS; id++) {
+            Produto produto = new Produto(id, "Smart TV " + id + " polegadas", "Descrição do produto " + id,
+                    "Fabricante " + (id % 20), "Preto", new BigDecimal("1999.90"), (int) (id % 50));
+            for (int i = 0; i < IMAGENS_POR_PRODUTO; i++) {
+                produto.addImagem(new Imagem(UUID.randomUUID() + ".jpg", produto));
+            }
+            produtos.add(produto);
+        }
+        return produtos;
+    }
+}
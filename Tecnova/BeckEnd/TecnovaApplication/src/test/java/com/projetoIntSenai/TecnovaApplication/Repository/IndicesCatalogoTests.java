@@ -0,0 +1,55 @@
+package com.projetoIntSenai.TecnovaApplication.Repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica, via EXPLAIN, que as consultas mais frequentes do catálogo usam os índices
+ * criados pelas migrações (db/migration/{vendor}/V2__indices_catalogo.sql).
+ */
+@SpringBootTest
+class IndicesCatalogoTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void buscaPorPrefixoDoNomeUsaIndice() {
+        // Exatamente o SQL de ProdutoRepository.findIdsPorPrefixoDoNome, com os parâmetros da busca
+        String plano = plano(ProdutoRepository.SQL_IDS_POR_PREFIXO_DO_NOME,
+                Map.of("prefixo", "Smart%", "limite", 50));
+        assertThat(plano).contains("idx_produtos_nome").doesNotContain("tablescan");
+    }
+
+    @Test
+    void alteracoesRecentesUsamIndiceDeDataAtualizacao() {
+        assertThat(plano("SELECT * FROM produtos WHERE data_atualizacao > TIMESTAMP '2024-01-01 00:00:00' ORDER BY data_atualizacao"))
+                .contains("idx_produtos_data_atualizacao");
+    }
+
+    @Test
+    void carregamentoDasImagensDoProdutoUsaIndice() {
+        // Tanto o índice da FK quanto idx_imagens_produto_produto_ordem atendem o join; o importante é não haver varredura
+        assertThat(plano("SELECT p.*, i.* FROM produtos p LEFT JOIN imagens_produto i ON i.produto_id = p.id WHERE p.id = 1"))
+                .containsPattern(": produto_id = p\\.id \\*/")
+                .doesNotContain("tablescan");
+    }
+
+    private String plano(String sql) {
+        return plano(sql, Map.of());
+    }
+
+    private String plano(String sql, Map<String, ?> parametros) {
+        List<String> linhas = new NamedParameterJdbcTemplate(jdbcTemplate)
+                .queryForList("EXPLAIN " + sql, parametros, String.class);
+        return String.join("\n", linhas).toLowerCase();
+    }
+}
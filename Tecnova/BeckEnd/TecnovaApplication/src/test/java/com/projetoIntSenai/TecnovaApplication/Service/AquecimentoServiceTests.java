@@ -0,0 +1,81 @@
+package com.projetoIntSenai.TecnovaApplication.Service;
+
+import com.projetoIntSenai.TecnovaApplication.Config.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AquecimentoServiceTests {
+
+    @Autowired
+    private AquecimentoService aquecimentoService;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void trafegoSoELiberadoDepoisDoAquecimento() {
+        assertThat(aquecimentoService.isConcluido()).isTrue();
+        assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+        assertThat(meterRegistry.get("tecnova.aquecimento.duracao").timer().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void exercitaConexoesConsultasEImagens() throws Exception {
+        mockMvc.perform(multipart("/api/produtos")
+                        .file(new MockMultipartFile("produto", "", MediaType.APPLICATION_JSON_VALUE,
+                                "{\"nome\":\"Aquecimento\",\"fabricante\":\"Tecnova\",\"cor\":\"Preto\",\"preco\":10.00,\"quantidade\":1}".getBytes()))
+                        .file(new MockMultipartFile("imagens", "foto.jpg", MediaType.IMAGE_JPEG_VALUE, new byte[]{1, 2, 3})))
+                .andExpect(status().isCreated());
+
+        AquecimentoService.Relatorio relatorio = aquecimentoService.aquecer();
+
+        assertThat(relatorio.conexoes()).isEqualTo(2);
+        assertThat(relatorio.produtos()).isGreaterThanOrEqualTo(1);
+        assertThat(relatorio.imagens()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void preencheOsPoolsDoPrimarioEDaReplica() throws Exception {
+        try (HikariDataSource primario = pool("primario"); HikariDataSource replica = pool("replica")) {
+            ReadWriteRoutingDataSource roteamento = new ReadWriteRoutingDataSource(primario, replica, () -> true);
+            roteamento.afterPropertiesSet();
+
+            int abertas = AquecimentoService.preencherPools(new LazyConnectionDataSourceProxy(roteamento), 3);
+
+            assertThat(abertas).isEqualTo(6);
+            assertThat(primario.getHikariPoolMXBean().getTotalConnections()).isEqualTo(3);
+            assertThat(replica.getHikariPoolMXBean().getTotalConnections()).isEqualTo(3);
+        }
+    }
+
+    // Sem conexões ociosas mínimas: o pool só abre as conexões que o aquecimento pedir
+    private static HikariDataSource pool(String nome) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:aquecimento-" + nome + ";DB_CLOSE_DELAY=-1");
+        pool.setMinimumIdle(0);
+        pool.setMaximumPoolSize(3);
+        return pool;
+    }
+}
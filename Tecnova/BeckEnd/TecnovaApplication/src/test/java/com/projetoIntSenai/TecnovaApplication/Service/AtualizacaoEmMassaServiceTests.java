@@ -0,0 +1,110 @@
+package com.projetoIntSenai.TecnovaApplication.Service;
+
+import com.projetoIntSenai.TecnovaApplication.Dto.AtualizacaoPrecoEstoqueDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.EventoCatalogoDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.FalhaLinhaDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.ResultadoAtualizacaoEmMassaDto;
+import com.projetoIntSenai.TecnovaApplication.Entity.Produto;
+import com.projetoIntSenai.TecnovaApplication.Repository.ProdutoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AtualizacaoEmMassaServiceTests {
+
+    @Autowired
+    private AtualizacaoEmMassaService atualizacaoEmMassaService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void precoForaDeDecimal15_2FalhaSoNaLinhaEORestoDoBlocoEAplicado() {
+        Long id1 = criarProduto("Massa Decimal 1");
+        Long id2 = criarProduto("Massa Decimal 2");
+        Long id3 = criarProduto("Massa Decimal 3");
+        Long id4 = criarProduto("Massa Decimal 4");
+
+        ResultadoAtualizacaoEmMassaDto resultado = atualizacaoEmMassaService.atualizarPrecosEstoque(List.of(
+                new AtualizacaoPrecoEstoqueDto(id1, new BigDecimal("12.50"), null),
+                new AtualizacaoPrecoEstoqueDto(id2, new BigDecimal("12345678901234"), null),
+                new AtualizacaoPrecoEstoqueDto(id3, new BigDecimal("1.005"), null),
+                new AtualizacaoPrecoEstoqueDto(id4, new BigDecimal("9999999999999.990"), 3)));
+
+        assertThat(resultado.getAtualizados()).isEqualTo(2);
+        assertThat(resultado.getFalhas()).extracting(FalhaLinhaDto::getLinha).containsExactly(2, 3);
+        assertThat(produtoRepository.findById(id1).orElseThrow().getPreco()).isEqualByComparingTo("12.50");
+        assertThat(produtoRepository.findById(id2).orElseThrow().getPreco()).isEqualByComparingTo("10.00");
+        assertThat(produtoRepository.findById(id4).orElseThrow().getQuantidade()).isEqualTo(3);
+    }
+
+    @Test
+    void linhasSemContagemDoDriverSaoDesconhecidasENaoPublicamEvento() {
+        Long id = criarProduto("Massa Sem Contagem");
+        List<EventoCatalogoDto> publicados = new CopyOnWriteArrayList<>();
+        EventosCatalogoService eventos = new EventosCatalogoService(2, 3, 100, 1, 3600, new SimpleMeterRegistry()) {
+            @Override
+            public void publicar(EventoCatalogoDto dados) {
+                publicados.add(dados);
+            }
+        };
+
+        // Driver que executa o lote mas devolve Statement.SUCCESS_NO_INFO para cada linha
+        JdbcTemplate semContagem = new JdbcTemplate(dataSource) {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> argumentos, int[] tipos) {
+                int[] contagens = super.batchUpdate(sql, argumentos, tipos);
+                Arrays.fill(contagens, Statement.SUCCESS_NO_INFO);
+                return contagens;
+            }
+        };
+        AtualizacaoEmMassaService servico = new AtualizacaoEmMassaService();
+        ReflectionTestUtils.setField(servico, "jdbcTemplate", semContagem);
+        ReflectionTestUtils.setField(servico, "namedParameterJdbcTemplate", namedParameterJdbcTemplate);
+        ReflectionTestUtils.setField(servico, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(servico, "eventosCatalogoService", eventos);
+        ReflectionTestUtils.setField(servico, "tamanhoBloco", 1000);
+        ReflectionTestUtils.setField(servico, "duracaoMaximaTransacao", Duration.ofSeconds(1));
+
+        try {
+            ResultadoAtualizacaoEmMassaDto resultado = servico.atualizarPrecosEstoque(
+                    List.of(new AtualizacaoPrecoEstoqueDto(id, null, 5)));
+
+            assertThat(resultado.getDesconhecidos()).isEqualTo(1);
+            assertThat(resultado.getAtualizados()).isZero();
+            assertThat(resultado.getFalhas()).isEmpty();
+            assertThat(publicados).isEmpty();
+        } finally {
+            eventos.encerrar();
+        }
+    }
+
+    private Long criarProduto(String nome) {
+        return produtoRepository.save(new Produto(nome, null, "Tecnova", "Preto", new BigDecimal("10.00"), 1)).getId();
+    }
+}
@@ -0,0 +1,110 @@
+package com.projetoIntSenai.TecnovaApplication.Service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * GET condicional e cache em disco contra um servidor HTTP local que responde 304 quando o ETag confere.
+ */
+class DownloadImagemServiceTests {
+
+    private static final byte[] CONTEUDO = {1, 2, 3, 4};
+    private static final String ETAG = "\"v1\"";
+    private static final String ULTIMA_MODIFICACAO = "Wed, 01 Jan 2025 00:00:00 GMT";
+
+    private HttpServer servidor;
+    private final AtomicInteger respostasCompletas = new AtomicInteger();
+    private final AtomicInteger respostasNaoModificadas = new AtomicInteger();
+    private String url;
+
+    @BeforeEach
+    void iniciarServidor() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/foto.jpg", troca -> {
+            if (ETAG.equals(troca.getRequestHeaders().getFirst("If-None-Match"))) {
+                respostasNaoModificadas.incrementAndGet();
+                troca.sendResponseHeaders(304, -1);
+            } else {
+                respostasCompletas.incrementAndGet();
+                troca.getResponseHeaders().add("ETag", ETAG);
+                troca.getResponseHeaders().add("Last-Modified", ULTIMA_MODIFICACAO);
+                troca.sendResponseHeaders(200, CONTEUDO.length);
+                try (OutputStream corpo = troca.getResponseBody()) {
+                    corpo.write(CONTEUDO);
+                }
+            }
+            troca.close();
+        });
+        servidor.start();
+        url = "http://127.0.0.1:" + servidor.getAddress().getPort() + "/foto.jpg";
+    }
+
+    @AfterEach
+    void pararServidor() {
+        servidor.stop(0);
+    }
+
+    @Test
+    void guardaValidadoresEMantemArquivoQuandoServidorResponde304() throws IOException {
+        DownloadImagemService servico = new DownloadImagemService("", 5);
+
+        DownloadImagemService.Resultado primeiro = servico.baixar(url, null);
+        assertThat(primeiro.origem()).isEqualTo(DownloadImagemService.Origem.REDE);
+        assertThat(primeiro.bytes()).isEqualTo(CONTEUDO);
+        assertThat(primeiro.validadores()).isEqualTo(new DownloadImagemService.Validadores(ETAG, ULTIMA_MODIFICACAO));
+        assertThat(primeiro.tamanho()).isEqualTo(CONTEUDO.length);
+
+        DownloadImagemService.Resultado segundo = servico.baixar(url, primeiro.validadores());
+        assertThat(segundo.origem()).isEqualTo(DownloadImagemService.Origem.NAO_MODIFICADA);
+        assertThat(segundo.bytes()).isNull();
+        assertThat(respostasCompletas).hasValue(1);
+        assertThat(respostasNaoModificadas).hasValue(1);
+    }
+
+    @Test
+    void usaCacheEmDiscoQuandoChamadorNaoTemOArquivo(@TempDir Path diretorioCache) throws IOException {
+        DownloadImagemService servico = new DownloadImagemService(diretorioCache.toString(), 5);
+
+        servico.baixar(url, null);
+        DownloadImagemService.Resultado segundo = servico.baixar(url, null);
+
+        assertThat(segundo.origem()).isEqualTo(DownloadImagemService.Origem.CACHE);
+        assertThat(segundo.bytes()).isEqualTo(CONTEUDO);
+        assertThat(respostasCompletas).hasValue(1);
+        assertThat(respostasNaoModificadas).hasValue(1);
+    }
+
+    @Test
+    void semCacheBaixaConteudoCompletoDeNovo() throws IOException {
+        DownloadImagemService servico = new DownloadImagemService("", 5);
+
+        servico.baixar(url, null);
+        servico.baixar(url, null);
+
+        assertThat(respostasCompletas).hasValue(2);
+    }
+
+    @Test
+    void rejeitaEsquemasQueNaoSaoHttp(@TempDir Path diretorio) throws IOException {
+        DownloadImagemService servico = new DownloadImagemService("", 5);
+        Path arquivoLocal = Files.write(diretorio.resolve("segredo.txt"), CONTEUDO);
+
+        assertThatThrownBy(() -> servico.baixar(arquivoLocal.toUri().toString(), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> servico.baixar("jar:" + arquivoLocal.toUri() + "!/a.png", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,118 @@
+package com.projetoIntSenai.TecnovaApplication.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projetoIntSenai.TecnovaApplication.Dto.EventoCatalogoDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class EventosCatalogoServiceTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EventosCatalogoService servico = new EventosCatalogoService(2, 3, 100, 1, 3600, registry);
+
+    @AfterEach
+    void encerrar() {
+        servico.encerrar();
+    }
+
+    @Test
+    void entregaEventosEmOrdemERetomaPeloLastEventId() {
+        EmitterCapturado primeiro = new EmitterCapturado(null);
+        servico.assinar(primeiro, null);
+        publicar(1L);
+        publicar(2L);
+        await().atMost(Duration.ofSeconds(5)).until(() -> primeiro.eventos.size() == 2);
+        assertThat(primeiro.eventos.get(0)).contains("event:criado").contains("\"produtoId\":1");
+        assertThat(primeiro.eventos.get(1)).contains("\"produtoId\":2");
+
+        // Reconexão informando o primeiro ID: recebe só o segundo evento
+        String primeiroId = primeiro.eventos.get(0).lines()
+                .filter(linha -> linha.startsWith("id:")).findFirst().orElseThrow().substring(3);
+        EmitterCapturado retomado = new EmitterCapturado(null);
+        servico.assinar(retomado, primeiroId);
+        await().atMost(Duration.ofSeconds(5)).until(() -> retomado.eventos.size() == 1);
+        assertThat(retomado.eventos.get(0)).contains("\"produtoId\":2");
+    }
+
+    @Test
+    void idForaDoHistoricoPedeRessincronizacao() {
+        for (long i = 1; i <= 5; i++) {
+            publicar(i);
+        }
+        EmitterCapturado assinante = new EmitterCapturado(null);
+        servico.assinar(assinante, "outra-execucao-1");
+        await().atMost(Duration.ofSeconds(5)).until(() -> assinante.eventos.size() == 1);
+        assertThat(assinante.eventos.get(0)).contains("event:" + EventosCatalogoService.EVENTO_RESSINCRONIZAR);
+    }
+
+    @Test
+    void desconectaAssinanteLentoSemAtrasarOsDemais() {
+        CountDownLatch bloqueio = new CountDownLatch(1);
+        EmitterCapturado lento = new EmitterCapturado(bloqueio);
+        EmitterCapturado rapido = new EmitterCapturado(null);
+        servico.assinar(lento, null);
+        servico.assinar(rapido, null);
+
+        // Fila de 2 por assinante: o lento fica preso no primeiro envio e a fila enche no quarto evento
+        for (long i = 1; i <= 5; i++) {
+            publicar(i);
+            int esperados = (int) i;
+            await().atMost(Duration.ofSeconds(5)).until(() -> rapido.eventos.size() == esperados);
+        }
+
+        assertThat(servico.getQuantidadeAssinantes()).isEqualTo(1);
+        assertThat(registry.counter("tecnova.eventos.assinantes_descartados").count()).isEqualTo(1.0);
+        bloqueio.countDown();
+    }
+
+    private void publicar(Long produtoId) {
+        servico.publicar(new EventoCatalogoDto(EventoCatalogoDto.Tipo.CRIADO, produtoId, "Produto " + produtoId, null, 1));
+    }
+
+    // Guarda o texto de cada evento enviado; com bloqueio, o envio espera (simula um cliente que não lê)
+    private static class EmitterCapturado extends SseEmitter {
+        final List<String> eventos = new CopyOnWriteArrayList<>();
+        private final CountDownLatch bloqueio;
+
+        EmitterCapturado(CountDownLatch bloqueio) {
+            this.bloqueio = bloqueio;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (bloqueio != null) {
+                try {
+                    bloqueio.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            String texto = builder.build().stream()
+                    .map(parte -> parte.getData() instanceof String s ? s : serializar(parte.getData()))
+                    .collect(Collectors.joining());
+            if (!texto.startsWith(":")) {
+                eventos.add(texto);
+            }
+        }
+
+        private static String serializar(Object dados) {
+            try {
+                return new ObjectMapper().findAndRegisterModules().writeValueAsString(dados);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.projetoIntSenai.TecnovaApplication.Service;
+
+import com.projetoIntSenai.TecnovaApplication.Dto.AtualizacaoPrecoEstoqueDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.ResultadoAtualizacaoEmMassaDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.ResultadoExclusaoEmMassaDto;
+import com.projetoIntSenai.TecnovaApplication.Entity.Produto;
+import com.projetoIntSenai.TecnovaApplication.Repository.ProdutoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Operações em massa maiores que a fila de um assinante (tecnova.eventos.buffer-por-assinante=256)
+ * publicam um evento por bloco e não derrubam as conexões SSE.
+ */
+@SpringBootTest
+class EventosOperacoesEmMassaTests {
+
+    private static final int QUANTIDADE = 300;
+
+    @Autowired
+    private EventosCatalogoService eventosCatalogoService;
+
+    @Autowired
+    private AtualizacaoEmMassaService atualizacaoEmMassaService;
+
+    @Autowired
+    private ExclusaoEmMassaService exclusaoEmMassaService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Test
+    void atualizacaoEExclusaoEmMassaMantemAssinanteConectado() {
+        List<Produto> produtos = new ArrayList<>();
+        IntStream.range(0, QUANTIDADE).forEach(i ->
+                produtos.add(new Produto("Evento Massa " + i, null, "Tecnova", "Preto", new BigDecimal("10.00"), 1)));
+        List<Long> ids = produtoRepository.saveAll(produtos).stream().map(Produto::getId).toList();
+
+        // O assinante não lê nada até o fim: com um evento por linha, a fila encheria e a conexão cairia
+        CountDownLatch liberarLeitura = new CountDownLatch(1);
+        EmitterCapturado assinante = new EmitterCapturado(liberarLeitura);
+        eventosCatalogoService.assinar(assinante, null);
+        int assinantesAntes = eventosCatalogoService.getQuantidadeAssinantes();
+
+        ResultadoAtualizacaoEmMassaDto atualizacao = atualizacaoEmMassaService.atualizarPrecosEstoque(
+                ids.stream().map(id -> new AtualizacaoPrecoEstoqueDto(id, null, 7)).toList());
+        ResultadoExclusaoEmMassaDto exclusao = exclusaoEmMassaService.excluirProdutos(ids);
+
+        assertThat(atualizacao.getAtualizados()).isEqualTo(QUANTIDADE);
+        assertThat(exclusao.getExcluidos()).isEqualTo(QUANTIDADE);
+        assertThat(eventosCatalogoService.getQuantidadeAssinantes()).isEqualTo(assinantesAntes);
+
+        liberarLeitura.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> assinante.nomes.size() == 2);
+        assertThat(assinante.nomes).containsExactly("estoque_alterado", "excluido");
+        assinante.complete();
+    }
+
+    // Guarda o nome de cada evento; o envio espera o latch (simula um cliente que ainda não leu)
+    private static class EmitterCapturado extends SseEmitter {
+        final List<String> nomes = new CopyOnWriteArrayList<>();
+        private final CountDownLatch liberar;
+
+        EmitterCapturado(CountDownLatch liberar) {
+            this.liberar = liberar;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            builder.build().stream()
+                    .map(parte -> parte.getData() instanceof String texto ? texto : "")
+                    .flatMap(String::lines)
+                    .filter(linha -> linha.startsWith("event:"))
+                    .forEach(linha -> nomes.add(linha.substring("event:".length())));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.projetoIntSenai.TecnovaApplication.Service;
+
+import com.projetoIntSenai.TecnovaApplication.Dto.EventoCatalogoDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.FalhaLinhaDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.ResultadoExclusaoEmMassaDto;
+import com.projetoIntSenai.TecnovaApplication.Entity.Produto;
+import com.projetoIntSenai.TecnovaApplication.Repository.ProdutoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ExclusaoEmMassaServiceTests {
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Test
+    void falhaDeUmBlocoViraFalhaDosSeusIdsEOsDemaisBlocosSaoExcluidos() {
+        List<Long> ids = List.of(criarProduto("Exclusao Bloco 1"), criarProduto("Exclusao Bloco 2"),
+                criarProduto("Exclusao Bloco 3"), criarProduto("Exclusao Bloco 4"));
+        Long idComFalha = ids.get(2);
+        List<EventoCatalogoDto> publicados = new CopyOnWriteArrayList<>();
+        EventosCatalogoService eventos = new EventosCatalogoService(2, 3, 100, 1, 3600, new SimpleMeterRegistry()) {
+            @Override
+            public void publicar(EventoCatalogoDto dados) {
+                publicados.add(dados);
+            }
+        };
+
+        // O lote de tombstones do segundo bloco falha, depois dos DELETEs: a transação do bloco é desfeita
+        JdbcTemplate falhaNoSegundoBloco = new JdbcTemplate(dataSource) {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> argumentos) {
+                if (argumentos.stream().anyMatch(linha -> idComFalha.equals(linha[0]))) {
+                    throw new IllegalStateException("falha simulada");
+                }
+                return super.batchUpdate(sql, argumentos);
+            }
+        };
+        ExclusaoEmMassaService servico = new ExclusaoEmMassaService(1);
+        ReflectionTestUtils.setField(servico, "jdbcTemplate", falhaNoSegundoBloco);
+        ReflectionTestUtils.setField(servico, "namedParameterJdbcTemplate", namedParameterJdbcTemplate);
+        ReflectionTestUtils.setField(servico, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(servico, "fileStorageService", fileStorageService);
+        ReflectionTestUtils.setField(servico, "eventosCatalogoService", eventos);
+        ReflectionTestUtils.setField(servico, "tamanhoBloco", 2);
+        ReflectionTestUtils.setField(servico, "duracaoMaximaTransacao", Duration.ofSeconds(1));
+
+        try {
+            ResultadoExclusaoEmMassaDto resultado = servico.excluirProdutos(ids);
+
+            assertThat(resultado.getExcluidos()).isEqualTo(2);
+            assertThat(resultado.getIdsNaoEncontrados()).isEmpty();
+            assertThat(resultado.getFalhas()).extracting(FalhaLinhaDto::getLinha).containsExactly(3, 4);
+            assertThat(resultado.getFalhas()).extracting(FalhaLinhaDto::getId).containsExactly(ids.get(2), ids.get(3));
+            assertThat(produtoRepository.existsById(ids.get(0))).isFalse();
+            assertThat(produtoRepository.existsById(ids.get(2))).isTrue();
+            assertThat(produtoRepository.existsById(ids.get(3))).isTrue();
+            assertThat(publicados).singleElement()
+                    .satisfies(evento -> assertThat(evento.getProdutoIds()).containsExactlyInAnyOrder(ids.get(0), ids.get(1)));
+        } finally {
+            servico.encerrar();
+            eventos.encerrar();
+        }
+    }
+
+    private Long criarProduto(String nome) {
+        return produtoRepository.save(new Produto(nome, null, "Tecnova", "Preto", new BigDecimal("10.00"), 1)).getId();
+    }
+}
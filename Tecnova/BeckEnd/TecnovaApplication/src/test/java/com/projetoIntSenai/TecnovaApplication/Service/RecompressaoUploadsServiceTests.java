@@ -0,0 +1,169 @@
+package com.projetoIntSenai.TecnovaApplication.Service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.color.ColorSpace;
+import java.awt.color.ICC_Profile;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecompressaoUploadsServiceTests {
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+            "jdbc:h2:mem:recompressao-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+
+    @BeforeEach
+    void criarTabela() {
+        jdbcTemplate.execute("CREATE TABLE imagens_produto (nome_arquivo VARCHAR(255), tamanho_bytes BIGINT)");
+    }
+
+    @Test
+    void reduzJpegGrandeERetomaPeloCheckpoint(@TempDir Path diretorio) throws IOException {
+        Path uploads = Files.createDirectories(diretorio.resolve("uploads"));
+        Path jpeg = uploads.resolve("foto.jpg");
+        gravarJpegQualidadeMaxima(jpeg);
+        Files.write(uploads.resolve("foto.webp"), new byte[]{1, 2, 3});
+        long tamanhoOriginal = Files.size(jpeg);
+        jdbcTemplate.update("INSERT INTO imagens_produto (nome_arquivo, tamanho_bytes) VALUES (?, ?)", "foto.jpg", tamanhoOriginal);
+
+        RecompressaoUploadsService servico = novoServico(diretorio, uploads);
+        RecompressaoUploadsService.Relatorio relatorio = servico.executar();
+
+        assertThat(relatorio.processados()).isEqualTo(2);
+        assertThat(relatorio.reduzidos()).isEqualTo(1);
+        assertThat(relatorio.ignorados()).isEqualTo(1);
+        assertThat(relatorio.bytesEconomizados()).isEqualTo(tamanhoOriginal - Files.size(jpeg)).isPositive();
+        BufferedImage resultado = ImageIO.read(jpeg.toFile());
+        assertThat(resultado.getWidth()).isEqualTo(320);
+        assertThat(resultado.getHeight()).isEqualTo(240);
+        // O tamanho registrado acompanha o arquivo trocado
+        assertThat(jdbcTemplate.queryForObject("SELECT tamanho_bytes FROM imagens_produto WHERE nome_arquivo = 'foto.jpg'",
+                Long.class)).isEqualTo(Files.size(jpeg));
+
+        // Segunda execução: nada pendente, mas o total acumulado vem do checkpoint
+        RecompressaoUploadsService.Relatorio retomada = novoServico(diretorio, uploads).executar();
+        assertThat(retomada.processados()).isZero();
+        assertThat(retomada.bytesEconomizadosTotal()).isEqualTo(relatorio.bytesEconomizados());
+    }
+
+    @Test
+    void mantemJpegComOrientacaoExif() throws IOException {
+        // SOI + APP1 "Exif" com TIFF big-endian e uma entrada Orientation = 6
+        byte[] jpeg = {
+                (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE1, 0x00, 0x22,
+                'E', 'x', 'i', 'f', 0x00, 0x00,
+                'M', 'M', 0x00, 0x2A, 0x00, 0x00, 0x00, 0x08,
+                0x00, 0x01, 0x01, 0x12, 0x00, 0x03, 0x00, 0x00, 0x00, 0x01, 0x00, 0x06, 0x00, 0x00,
+                0x00, 0x00, 0x00, 0x00
+        };
+        assertThat(RecompressaoUploadsService.orientacaoExif(jpeg)).isEqualTo(6);
+        assertThat(novoServico(Path.of("."), Path.of(".")).recomprimir("foto.jpg", jpeg)).isNull();
+    }
+
+    @Test
+    void mantemJpegComPerfilIcc(@TempDir Path diretorio) throws IOException {
+        Path jpeg = diretorio.resolve("foto.jpg");
+        gravarJpegQualidadeMaxima(jpeg);
+        byte[] original = Files.readAllBytes(jpeg);
+        byte[] perfil = ICC_Profile.getInstance(ColorSpace.CS_sRGB).getData();
+
+        // SOI + APP2 "ICC_PROFILE" (parte 1 de 1) + restante do arquivo
+        ByteArrayOutputStream comPerfil = new ByteArrayOutputStream();
+        DataOutputStream saida = new DataOutputStream(comPerfil);
+        saida.write(original, 0, 2);
+        saida.writeShort(0xFFE2);
+        saida.writeShort(2 + 12 + 2 + perfil.length);
+        saida.write("ICC_PROFILE\0".getBytes(StandardCharsets.ISO_8859_1));
+        saida.write(new byte[]{1, 1});
+        saida.write(perfil);
+        saida.write(original, 2, original.length - 2);
+
+        RecompressaoUploadsService servico = novoServico(diretorio, diretorio);
+        assertThat(servico.recomprimir("foto.jpg", original)).isNotNull();
+        assertThat(RecompressaoUploadsService.temPerfilIccJpeg(comPerfil.toByteArray())).isTrue();
+        assertThat(servico.recomprimir("foto.jpg", comPerfil.toByteArray())).isNull();
+    }
+
+    @Test
+    void mantemPngComPerfilIcc() throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(16, 16, BufferedImage.TYPE_INT_RGB), "png", png);
+        byte[] original = png.toByteArray();
+
+        // Assinatura (8) + IHDR (12 + 13) + iCCP + restante do arquivo
+        ByteArrayOutputStream dados = new ByteArrayOutputStream();
+        dados.write("sRGB\0\0".getBytes(StandardCharsets.ISO_8859_1));
+        try (DeflaterOutputStream perfil = new DeflaterOutputStream(dados)) {
+            perfil.write(ICC_Profile.getInstance(ColorSpace.CS_sRGB).getData());
+        }
+        ByteArrayOutputStream comPerfil = new ByteArrayOutputStream();
+        DataOutputStream saida = new DataOutputStream(comPerfil);
+        saida.write(original, 0, 33);
+        saida.writeInt(dados.size());
+        byte[] tipoEDados = concatenar("iCCP".getBytes(StandardCharsets.ISO_8859_1), dados.toByteArray());
+        saida.write(tipoEDados);
+        CRC32 crc = new CRC32();
+        crc.update(tipoEDados);
+        saida.writeInt((int) crc.getValue());
+        saida.write(original, 33, original.length - 33);
+
+        RecompressaoUploadsService servico = novoServico(Path.of("."), Path.of("."));
+        assertThat(RecompressaoUploadsService.temInformacaoDeCorPng(original)).isFalse();
+        assertThat(RecompressaoUploadsService.temInformacaoDeCorPng(comPerfil.toByteArray())).isTrue();
+        assertThat(servico.recomprimir("foto.png", comPerfil.toByteArray())).isNull();
+    }
+
+    private static byte[] concatenar(byte[] a, byte[] b) {
+        byte[] resultado = new byte[a.length + b.length];
+        System.arraycopy(a, 0, resultado, 0, a.length);
+        System.arraycopy(b, 0, resultado, a.length, b.length);
+        return resultado;
+    }
+
+    private RecompressaoUploadsService novoServico(Path diretorio, Path uploads) {
+        return new RecompressaoUploadsService(jdbcTemplate, uploads.toString(), diretorio.resolve("checkpoint").toString(),
+                false, 2, 0.85f, 0);
+    }
+
+    // Ruído + gradiente em qualidade 1.0: o tipo de arquivo "cheio" que sai de câmeras e editores
+    private void gravarJpegQualidadeMaxima(Path destino) throws IOException {
+        BufferedImage imagem = new BufferedImage(320, 240, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < 240; y++) {
+            for (int x = 0; x < 320; x++) {
+                int ruido = random.nextInt(16);
+                imagem.setRGB(x, y, ((x + ruido) % 256) << 16 | ((y + ruido) % 256) << 8 | ((x + y) / 3 % 256));
+            }
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(destino.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam parametros = writer.getDefaultWriteParam();
+            parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parametros.setCompressionQuality(1.0f);
+            writer.write(null, new IIOImage(imagem, null, null), parametros);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.projetoIntSenai.TecnovaApplication.Service;
+
+import com.projetoIntSenai.TecnovaApplication.Dto.AlteracoesCatalogoDto;
+import com.projetoIntSenai.TecnovaApplication.Dto.ProdutoDto;
+import com.projetoIntSenai.TecnovaApplication.Entity.Produto;
+import com.projetoIntSenai.TecnovaApplication.Repository.ProdutoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sincronização incremental com transações intercaladas (tecnova.sincronizacao.duracao-maxima-transacao=1s nos testes).
+ */
+@SpringBootTest
+class SincronizacaoAlteracoesTests {
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void transacaoQueConfirmaDepoisDeOutraMaisRecenteNaoFicaAtrasDoCursor() throws Exception {
+        String inicio = LocalDateTime.now().minusNanos(1000).toString();
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        CountDownLatch lentaGravada = new CountDownLatch(1);
+        CountDownLatch confirmarLenta = new CountDownLatch(1);
+
+        // T1 carimba dataAtualizacao e só confirma depois de T2
+        CompletableFuture<Void> lenta = CompletableFuture.runAsync(() -> transacao.executeWithoutResult(status -> {
+            produtoRepository.saveAndFlush(produto("Sincronizacao Lenta"));
+            lentaGravada.countDown();
+            try {
+                confirmarLenta.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(lentaGravada.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // T2 carimba depois e confirma antes
+        transacao.executeWithoutResult(status -> produtoRepository.saveAndFlush(produto("Sincronizacao Rapida")));
+
+        // Um cliente sincroniza entre os dois commits: nada recente demais é entregue, então o cursor não passa de T1
+        AlteracoesCatalogoDto primeira = produtoService.buscarAlteracoes(inicio, 1000);
+        assertThat(nomes(primeira)).isEmpty();
+
+        confirmarLenta.countDown();
+        lenta.get(10, TimeUnit.SECONDS);
+        Thread.sleep(1200);
+
+        AlteracoesCatalogoDto segunda = produtoService.buscarAlteracoes(primeira.getProximoToken(), 1000);
+        assertThat(nomes(segunda)).containsExactlyInAnyOrder("Sincronizacao Lenta", "Sincronizacao Rapida");
+    }
+
+    private static Produto produto(String nome) {
+        return new Produto(nome, null, "Tecnova", "Preto", new BigDecimal("10.00"), 1);
+    }
+
+    private static List<String> nomes(AlteracoesCatalogoDto alteracoes) {
+        return alteracoes.getProdutos().stream()
+                .map(ProdutoDto::getNome)
+                .filter(nome -> nome.startsWith("Sincronizacao "))
+                .toList();
+    }
+}
@@ -0,0 +1,28 @@
+#!/usr/bin/env bash
+#
+# Sobe a TecnovaApplication no perfil perf (H2 embarcado + catálogo sintético), executa o teste
+# de carga e encerra a aplicação. Parâmetros extras são repassados ao TesteDeCarga.
+#
+# Uso: PRODUTOS=100000 ./executar-carga.sh --duracao=120 --taxa.detalhe=300
+
+set -euo pipefail
+
+PRODUTOS="${PRODUTOS:-10000}"
+PORTA="${PORTA:-18080}"
+cd "$(dirname "$0")"
+
+(cd ../TecnovaApplication && exec sh ./mvnw -B -q -Pperf spring-boot:run \
+    -Dspring-boot.run.arguments="--server.port=$PORTA --tecnova.perf.produtos=$PRODUTOS") > target-app.log 2>&1 &
+APP=$!
+trap 'kill $APP 2> /dev/null || true' EXIT
+
+echo "Aguardando a aplicação e a carga sintética ($PRODUTOS produtos)..."
+until grep -q "\[perf\]" target-app.log 2> /dev/null; do
+    if ! kill -0 "$APP" 2> /dev/null; then
+        echo "A aplicação terminou. Veja target-app.log" >&2
+        exit 1
+    fi
+    sleep 1
+done
+
+sh ../TecnovaApplication/mvnw -B -q compile exec:java -Dexec.args="--url=http://localhost:$PORTA $*"
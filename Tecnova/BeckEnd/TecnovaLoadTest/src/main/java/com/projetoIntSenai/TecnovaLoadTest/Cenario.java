@@ -0,0 +1,59 @@
+package com.projetoIntSenai.TecnovaLoadTest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpRequest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Um cenário de carga: uma requisição gerada repetidamente a uma taxa de chegada fixa.
+ * As latências (em microssegundos) são medidas a partir do instante planejado de envio,
+ * o que evita a omissão coordenada quando o servidor fica lento.
+ */
+public class Cenario {
+
+    private final String nome;
+    private final double taxaPorSegundo;
+    private final Supplier<HttpRequest> gerador;
+    private final Recorder latencias = new Recorder(3);
+    private final Map<Integer, AtomicLong> respostasPorStatus = new ConcurrentHashMap<>();
+    private final AtomicLong sucessos = new AtomicLong();
+    private final AtomicLong erros = new AtomicLong();
+
+    public Cenario(String nome, double taxaPorSegundo, Supplier<HttpRequest> gerador) {
+        this.nome = nome;
+        this.taxaPorSegundo = taxaPorSegundo;
+        this.gerador = gerador;
+    }
+
+    public HttpRequest novaRequisicao() {
+        return gerador.get();
+    }
+
+    /**
+     * @param status Status HTTP, ou 0 se a requisição não obteve resposta (timeout, conexão recusada, descartada).
+     */
+    public void registrar(long latenciaMicros, int status) {
+        latencias.recordValue(Math.max(1, latenciaMicros));
+        respostasPorStatus.computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+        if (status >= 200 && status < 400) {
+            sucessos.incrementAndGet();
+        } else {
+            erros.incrementAndGet();
+        }
+    }
+
+    public Histogram extrairHistograma() {
+        return latencias.getIntervalHistogram();
+    }
+
+    public String getNome() { return nome; }
+    public double getTaxaPorSegundo() { return taxaPorSegundo; }
+    public long getSucessos() { return sucessos.get(); }
+    public long getErros() { return erros.get(); }
+    public Map<Integer, AtomicLong> getRespostasPorStatus() { return respostasPorStatus; }
+}
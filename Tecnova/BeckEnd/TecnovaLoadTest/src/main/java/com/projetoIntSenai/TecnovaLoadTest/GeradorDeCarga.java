@@ -0,0 +1,77 @@
+package com.projetoIntSenai.TecnovaLoadTest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Modelo aberto: cada cenário dispara requisições em instantes fixos (1 / taxa), independentemente
+ * de as anteriores já terem respondido. Só as requisições planejadas depois do aquecimento são medidas.
+ */
+public class GeradorDeCarga {
+
+    // Proteção do próprio gerador caso o servidor pare de responder
+    private static final int MAXIMO_EM_VOO = 20_000;
+
+    private final HttpClient client;
+    private final Semaphore emVoo = new Semaphore(MAXIMO_EM_VOO);
+
+    public GeradorDeCarga(HttpClient client) {
+        this.client = client;
+    }
+
+    public void executar(List<Cenario> cenarios, long aquecimentoSegundos, long duracaoSegundos) throws InterruptedException {
+        long inicio = System.nanoTime() + 100_000_000L;
+        long inicioMedicao = inicio + aquecimentoSegundos * 1_000_000_000L;
+        long fim = inicioMedicao + duracaoSegundos * 1_000_000_000L;
+
+        List<Thread> threads = new ArrayList<>();
+        for (Cenario cenario : cenarios) {
+            if (cenario.getTaxaPorSegundo() <= 0) {
+                continue;
+            }
+            threads.add(Thread.ofPlatform().name("carga-" + cenario.getNome())
+                    .start(() -> disparar(cenario, inicio, inicioMedicao, fim)));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // Aguarda as respostas pendentes
+        emVoo.acquire(MAXIMO_EM_VOO);
+        emVoo.release(MAXIMO_EM_VOO);
+    }
+
+    private void disparar(Cenario cenario, long inicio, long inicioMedicao, long fim) {
+        double intervaloNanos = 1_000_000_000.0 / cenario.getTaxaPorSegundo();
+        for (long n = 0; ; n++) {
+            long planejado = inicio + (long) (n * intervaloNanos);
+            if (planejado >= fim) {
+                return;
+            }
+            long espera = planejado - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            boolean medir = planejado >= inicioMedicao;
+
+            if (!emVoo.tryAcquire()) {
+                if (medir) {
+                    cenario.registrar((System.nanoTime() - planejado) / 1_000, 0);
+                }
+                continue;
+            }
+            HttpRequest requisicao = cenario.novaRequisicao();
+            client.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, erro) -> {
+                        emVoo.release();
+                        if (medir) {
+                            cenario.registrar((System.nanoTime() - planejado) / 1_000, erro == null ? resposta.statusCode() : 0);
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.projetoIntSenai.TecnovaLoadTest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Grava um histograma HDR (.hgrm, em milissegundos) por cenário e um resumo de vazão e percentis.
+ */
+public class Relatorio {
+
+    private static final double MICROS_POR_MS = 1000.0;
+
+    public static void gerar(List<Cenario> cenarios, long duracaoSegundos, Path diretorio, String descricao) throws IOException {
+        Files.createDirectories(diretorio);
+
+        StringBuilder resumo = new StringBuilder();
+        StringBuilder csv = new StringBuilder("cenario,taxa_alvo_rps,vazao_rps,sucessos,erros,p50_ms,p90_ms,p99_ms,p999_ms,max_ms\n");
+        resumo.append("# Teste de carga - ").append(descricao).append("\n\n");
+        resumo.append("| Cenário | Taxa alvo (req/s) | Vazão (req/s) | Sucessos | Erros | p50 (ms) | p90 (ms) | p99 (ms) | p99.9 (ms) | máx (ms) | Status |\n");
+        resumo.append("|---|---|---|---|---|---|---|---|---|---|---|\n");
+
+        for (Cenario cenario : cenarios) {
+            if (cenario.getTaxaPorSegundo() <= 0) {
+                continue;
+            }
+            Histogram histograma = cenario.extrairHistograma();
+            try (PrintStream saida = new PrintStream(diretorio.resolve(cenario.getNome() + ".hgrm").toFile())) {
+                histograma.outputPercentileDistribution(saida, MICROS_POR_MS);
+            }
+
+            double vazao = (double) cenario.getSucessos() / duracaoSegundos;
+            Map<Integer, Long> status = new TreeMap<>();
+            cenario.getRespostasPorStatus().forEach((codigo, total) -> status.put(codigo, total.get()));
+
+            String[] valores = {
+                    formatar(cenario.getTaxaPorSegundo()), formatar(vazao),
+                    String.valueOf(cenario.getSucessos()), String.valueOf(cenario.getErros()),
+                    ms(histograma, 50), ms(histograma, 90), ms(histograma, 99), ms(histograma, 99.9),
+                    formatar(histograma.getMaxValue() / MICROS_POR_MS)
+            };
+            resumo.append("| ").append(cenario.getNome()).append(" | ").append(String.join(" | ", valores))
+                    .append(" | ").append(status).append(" |\n");
+            csv.append(cenario.getNome()).append(',').append(String.join(",", valores)).append('\n');
+        }
+
+        Files.writeString(diretorio.resolve("resumo.md"), resumo);
+        Files.writeString(diretorio.resolve("resumo.csv"), csv);
+        System.out.println(resumo);
+        System.out.println("Histogramas e resumo gravados em " + diretorio.toAbsolutePath());
+    }
+
+    private static String ms(Histogram histograma, double percentil) {
+        return formatar(histograma.getValueAtPercentile(percentil) / MICROS_POR_MS);
+    }
+
+    private static String formatar(double valor) {
+        return String.format(Locale.ROOT, "%.2f", valor);
+    }
+}
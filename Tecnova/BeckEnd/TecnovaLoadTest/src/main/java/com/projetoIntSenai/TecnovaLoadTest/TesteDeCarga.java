@@ -0,0 +1,186 @@
+package com.projetoIntSenai.TecnovaLoadTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste de carga dos endpoints de ProdutoController com taxa de chegada fixa.
+ *
+ * Uso (com a aplicação no perfil perf: cd ../TecnovaApplication && mvn -Pperf spring-boot:run):
+ *   mvn -q compile exec:java -Dexec.args="--url=http://localhost:8080 --duracao=60 --taxa.detalhe=200"
+ *
+ * Parâmetros (todos opcionais):
+ *   --url, --duracao e --aquecimento (segundos), --saida (diretório do relatório),
+ *   --taxa.listagem, --taxa.detalhe, --taxa.imagem, --taxa.upload, --taxa.importacao (req/s; 0 desativa).
+ */
+public class TesteDeCarga {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> parametros = new HashMap<>(Map.of(
+                "url", "http://localhost:8080",
+                "duracao", "60",
+                "aquecimento", "10",
+                "saida", "target/relatorio-carga",
+                "taxa.listagem", "0.5",
+                "taxa.detalhe", "100",
+                "taxa.imagem", "100",
+                "taxa.upload", "5",
+                "taxa.importacao", "0.5"
+        ));
+        for (String arg : args) {
+            String[] chaveValor = arg.replaceFirst("^--", "").split("=", 2);
+            parametros.put(chaveValor[0], chaveValor.length > 1 ? chaveValor[1] : "true");
+        }
+
+        String url = parametros.get("url");
+        long duracao = Long.parseLong(parametros.get("duracao"));
+        long aquecimento = Long.parseLong(parametros.get("aquecimento"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        Amostra amostra = Amostra.carregar(client, url);
+        System.out.println("Amostra: " + amostra.ids.size() + " produtos e " + amostra.imagens.size() + " imagens de " + url);
+
+        List<Cenario> cenarios = criarCenarios(parametros, url, amostra);
+        System.out.println("Aquecimento de " + aquecimento + "s e medição de " + duracao + "s...");
+        new GeradorDeCarga(client).executar(cenarios, aquecimento, duracao);
+
+        Relatorio.gerar(cenarios, duracao, Path.of(parametros.get("saida")), url + ", " + duracao + "s");
+        System.exit(0);
+    }
+
+    private static List<Cenario> criarCenarios(Map<String, String> parametros, String url, Amostra amostra) {
+        AtomicLong sequencia = new AtomicLong();
+        List<Cenario> cenarios = new ArrayList<>();
+
+        cenarios.add(new Cenario("listagem", taxa(parametros, "listagem"),
+                () -> get(url + "/api/produtos")));
+
+        cenarios.add(new Cenario("detalhe", taxa(parametros, "detalhe"),
+                () -> get(url + "/api/produtos/" + aleatorio(amostra.ids))));
+
+        cenarios.add(new Cenario("imagem", taxa(parametros, "imagem"),
+                () -> get(url + "/api/produtos/imagens/" + aleatorio(amostra.imagens))));
+
+        cenarios.add(new Cenario("upload", taxa(parametros, "upload"), () -> {
+            String limite = "----tecnova-carga-" + sequencia.incrementAndGet();
+            String produto = produtoJson("Upload carga " + sequencia.get(), null);
+            return HttpRequest.newBuilder(URI.create(url + "/api/produtos"))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "multipart/form-data; boundary=" + limite)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(multipart(limite, produto, amostra.bytesImagem)))
+                    .build();
+        }));
+
+        cenarios.add(new Cenario("importacao", taxa(parametros, "importacao"), () -> {
+            String imagemUrl = url + "/api/produtos/imagens/" + aleatorio(amostra.imagens);
+            String corpo = "[" + produtoJson("Importado carga " + sequencia.incrementAndGet(), imagemUrl) + "]";
+            return HttpRequest.newBuilder(URI.create(url + "/api/produtos/importar"))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                    .build();
+        }));
+        return cenarios;
+    }
+
+    private static double taxa(Map<String, String> parametros, String cenario) {
+        return Double.parseDouble(parametros.get("taxa." + cenario));
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT).GET().build();
+    }
+
+    private static <T> T aleatorio(List<T> valores) {
+        return valores.get(ThreadLocalRandom.current().nextInt(valores.size()));
+    }
+
+    private static String produtoJson(String nome, String imagemUrl) {
+        Map<String, Object> produto = new HashMap<>();
+        produto.put("nome", nome);
+        produto.put("textoDescritivo", "Produto criado pelo teste de carga");
+        produto.put("fabricante", "Carga");
+        produto.put("cor", "Preto");
+        produto.put("preco", 99.90);
+        produto.put("quantidade", 1);
+        if (imagemUrl != null) {
+            produto.put("imagens", List.of(imagemUrl));
+        }
+        try {
+            return MAPPER.writeValueAsString(produto);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] multipart(String limite, String produtoJson, byte[] imagem) {
+        ByteArrayOutputStream corpo = new ByteArrayOutputStream();
+        String cabecalhoProduto = "--" + limite + "\r\n"
+                + "Content-Disposition: form-data; name=\"produto\"; filename=\"produto.json\"\r\n"
+                + "Content-Type: application/json\r\n\r\n" + produtoJson + "\r\n";
+        String cabecalhoImagem = "--" + limite + "\r\n"
+                + "Content-Disposition: form-data; name=\"imagens\"; filename=\"carga.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n";
+        corpo.writeBytes(cabecalhoProduto.getBytes(StandardCharsets.UTF_8));
+        corpo.writeBytes(cabecalhoImagem.getBytes(StandardCharsets.UTF_8));
+        corpo.writeBytes(imagem);
+        corpo.writeBytes(("\r\n--" + limite + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return corpo.toByteArray();
+    }
+
+    /**
+     * IDs e nomes de imagens reais do catálogo, obtidos pela sincronização incremental.
+     */
+    static class Amostra {
+        final List<Long> ids = new ArrayList<>();
+        final List<String> imagens = new ArrayList<>();
+        byte[] bytesImagem;
+
+        static Amostra carregar(HttpClient client, String url) throws IOException, InterruptedException {
+            Amostra amostra = new Amostra();
+            HttpResponse<String> resposta = client.send(get(url + "/api/produtos/alteracoes?limite=1000"),
+                    HttpResponse.BodyHandlers.ofString());
+            if (resposta.statusCode() != 200) {
+                throw new IllegalStateException("Falha ao carregar a amostra do catálogo: HTTP " + resposta.statusCode());
+            }
+            for (JsonNode produto : MAPPER.readTree(resposta.body()).path("produtos")) {
+                amostra.ids.add(produto.path("id").asLong());
+                for (JsonNode imagem : produto.path("imagens")) {
+                    String imagemUrl = imagem.asText();
+                    amostra.imagens.add(imagemUrl.substring(imagemUrl.lastIndexOf('/') + 1));
+                }
+            }
+            if (amostra.ids.isEmpty() || amostra.imagens.isEmpty()) {
+                throw new IllegalStateException("Catálogo vazio: suba a aplicação com o perfil perf para gerar a carga sintética.");
+            }
+            amostra.bytesImagem = client.send(get(url + "/api/produtos/imagens/" + amostra.imagens.get(0)),
+                    HttpResponse.BodyHandlers.ofByteArray()).body();
+            return amostra;
+        }
+    }
+}
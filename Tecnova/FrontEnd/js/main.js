@@ -41,7 +41,8 @@ document.addEventListener('DOMContentLoaded', () => {
      */
     const apiRequest = async (url, options = {}) => {
         try {
-            const response = await fetch(url, options);
+            // credentials: o cookie de read-your-writes da API (outra origem) só é guardado e reenviado assim
+            const response = await fetch(url, { ...options, credentials: 'include' });
             if (!response.ok) {
                 const errorBody = await response.text();
                 throw new Error(`Erro ${response.status}: ${errorBody || response.statusText}`);
@@ -57,49 +58,59 @@ document.addEventListener('DOMContentLoaded', () => {
         }
     };
     
+    const formatPrice = (preco) => `R$ ${preco.toFixed(2).replace('.', ',')}`;
+    const formatQuantity = (quantidade) => `${quantidade} em estoque`;
+
     /**
-     * Exibe os produtos na tela. É AQUI QUE OS BOTÕES DE EDITAR E EXCLUIR SÃO CRIADOS.
+     * Cria o card de um produto. É AQUI QUE OS BOTÕES DE EDITAR E EXCLUIR SÃO CRIADOS.
+     * O data-id do card permite atualizar ou remover só esse card quando chega um evento do catálogo.
+     */
+    const createProductCard = (product) => {
+        // Usa a primeira imagem da lista ou uma imagem padrão
+        const mainImage = product.imagens && product.imagens.length > 0
+            ? product.imagens[0]
+            : 'images/placeholder.png'; 
+
+        const productCard = document.createElement('div');
+        productCard.className = 'product-card';
+        productCard.dataset.id = product.id;
+        productCard.innerHTML = `
+            <div class="product-image-container">
+                <img src="${mainImage}" alt="${product.nome}" class="product-image" onerror="this.src='images/placeholder.png'">
+            </div>
+            <div class="product-info">
+                <h3>${product.nome}</h3>
+                <p class="product-description">${product.textoDescritivo}</p>
+                <div class="product-details">
+                    <span class="manufacturer">${product.fabricante}</span>
+                    <span class="color">${product.cor}</span>
+                </div>
+                <div class="product-footer">
+                    <span class="price">${formatPrice(product.preco)}</span>
+                    <span class="quantity">${formatQuantity(product.quantidade)}</span>
+                </div>
+            </div>
+            <div class="product-actions">
+                <!-- BOTÃO EDITAR (CRIADO DINAMICAMENTE) -->
+                <button class="btn-edit" data-id="${product.id}"><i class="fas fa-edit"></i> Editar</button>
+                <!-- BOTÃO APAGAR (CRIADO DINAMICAMENTE) -->
+                <button class="btn-delete" data-id="${product.id}"><i class="fas fa-trash"></i> Excluir</button>
+            </div>
+        `;
+        return productCard;
+    };
+
+    /**
+     * Exibe os produtos na tela.
      */
     const displayProducts = (products) => {
         if (!products || products.length === 0) {
-            elements.productsContainer.innerHTML = '<div class="no-results">Nenhum produto encontrado.</div>';
+            showNoResults();
             return;
         }
 
         elements.productsContainer.innerHTML = '';
-        products.forEach(product => {
-            // Usa a primeira imagem da lista ou uma imagem padrão
-            const mainImage = product.imagens && product.imagens.length > 0
-                ? product.imagens[0]
-                : 'images/placeholder.png'; 
-
-            const productCard = document.createElement('div');
-            productCard.className = 'product-card';
-            productCard.innerHTML = `
-                <div class="product-image-container">
-                    <img src="${mainImage}" alt="${product.nome}" class="product-image" onerror="this.src='images/placeholder.png'">
-                </div>
-                <div class="product-info">
-                    <h3>${product.nome}</h3>
-                    <p class="product-description">${product.textoDescritivo}</p>
-                    <div class="product-details">
-                        <span class="manufacturer">${product.fabricante}</span>
-                        <span class="color">${product.cor}</span>
-                    </div>
-                    <div class="product-footer">
-                        <span class="price">R$ ${product.preco.toFixed(2).replace('.', ',')}</span>
-                        <span class="quantity">${product.quantidade} em estoque</span>
-                    </div>
-                </div>
-                <div class="product-actions">
-                    <!-- BOTÃO EDITAR (CRIADO DINAMICAMENTE) -->
-                    <button class="btn-edit" data-id="${product.id}"><i class="fas fa-edit"></i> Editar</button>
-                    <!-- BOTÃO APAGAR (CRIADO DINAMICAMENTE) -->
-                    <button class="btn-delete" data-id="${product.id}"><i class="fas fa-trash"></i> Excluir</button>
-                </div>
-            `;
-            elements.productsContainer.appendChild(productCard);
-        });
+        products.forEach(product => elements.productsContainer.appendChild(createProductCard(product)));
     };
 
     /**
@@ -171,6 +182,9 @@ document.addEventListener('DOMContentLoaded', () => {
 
 
     // --- Funções Auxiliares da UI ---
+    const showNoResults = () => {
+        elements.productsContainer.innerHTML = '<div class="no-results">Nenhum produto encontrado.</div>';
+    };
     const showError = (message) => {
         elements.productsContainer.innerHTML = `<div class="error"><span>Falha ao carregar</span><small>${message}</small></div>`;
     };
@@ -274,6 +288,85 @@ document.addEventListener('DOMContentLoaded', () => {
     elements.confirmOk.addEventListener('click', handleConfirmDelete);
     elements.confirmCancel.addEventListener('click', closeConfirmDeleteModal);
     
+    // --- Atualização em tempo real (SSE) ---
+    // Cada evento altera só o card do produto, em vez de recarregar o catálogo inteiro:
+    // estoque_alterado e excluido trazem tudo o que é preciso; criado e atualizado buscam os produtos
+    // em /lote (IDs agrupados). Só ressincronizar (eventos perdidos) recarrega a lista completa.
+    // Operações em massa enviam um evento por bloco com os IDs em produtoIds.
+    // O EventSource reconecta sozinho e envia Last-Event-ID para receber os eventos perdidos.
+    const LOTE_MAXIMO = 100; // LIMITE_LOTE_MAXIMO do backend
+    const findCard = (id) => elements.productsContainer.querySelector(`.product-card[data-id="${id}"]`);
+    const isSearching = () => elements.searchInput.value.trim() !== '';
+    const eventIds = (evento) => evento.produtoIds ?? [evento.produtoId];
+
+    const applyStockChange = ({ produtoId, preco, quantidade }) => {
+        const card = findCard(produtoId);
+        if (!card) return;
+        // null indica que o valor não mudou
+        if (preco != null) card.querySelector('.price').textContent = formatPrice(preco);
+        if (quantidade != null) card.querySelector('.quantity').textContent = formatQuantity(quantidade);
+    };
+
+    const removeCard = (id) => {
+        findCard(id)?.remove();
+        if (!elements.productsContainer.querySelector('.product-card')) showNoResults();
+    };
+
+    const upsertCard = (product) => {
+        const card = findCard(product.id);
+        if (card) {
+            card.replaceWith(createProductCard(product));
+        } else if (!isSearching()) { // Um produto novo pode não corresponder à busca exibida
+            elements.productsContainer.querySelector('.no-results')?.remove();
+            elements.productsContainer.appendChild(createProductCard(product));
+        }
+    };
+
+    let reloadTimer = null;
+    const scheduleReload = () => {
+        clearTimeout(reloadTimer);
+        reloadTimer = setTimeout(() => loadProducts(isSearching() ? elements.searchInput.value.trim() : null), 500);
+    };
+
+    // IDs criados/atualizados aguardando a próxima busca em /lote; agrupa rajadas (ex.: importação em massa)
+    const pendingIds = new Set();
+    let batchTimer = null;
+    const fetchPending = async () => {
+        const ids = [...pendingIds];
+        pendingIds.clear();
+        for (let i = 0; i < ids.length; i += LOTE_MAXIMO) {
+            const chunk = ids.slice(i, i + LOTE_MAXIMO);
+            try {
+                const response = await fetch(`${API_BASE_URL}/lote?ids=${chunk.join(',')}`, { credentials: 'include' });
+                if (!response.ok) throw new Error(`Erro ${response.status}`);
+                const lote = await response.json();
+                lote.produtos.forEach(upsertCard);
+                lote.idsNaoEncontrados.forEach(removeCard); // Excluído depois do evento
+            } catch (error) {
+                console.error('Falha ao buscar produtos alterados:', error);
+                scheduleReload();
+                return;
+            }
+        }
+    };
+    const queueFetch = (ids) => {
+        ids.forEach(id => pendingIds.add(id));
+        clearTimeout(batchTimer);
+        batchTimer = setTimeout(fetchPending, 300);
+    };
+
+    if (window.EventSource) {
+        const catalogEvents = new EventSource(`${API_BASE_URL}/eventos`);
+        const on = (type, handler) => catalogEvents.addEventListener(type, (e) => handler(JSON.parse(e.data)));
+        on('estoque_alterado', (evento) => evento.produtoIds
+            ? queueFetch(evento.produtoIds.filter(findCard)) // Lote sem valores: busca só os cards exibidos
+            : applyStockChange(evento));
+        on('excluido', (evento) => eventIds(evento).forEach(removeCard));
+        on('criado', (evento) => queueFetch(eventIds(evento)));
+        on('atualizado', (evento) => queueFetch(eventIds(evento)));
+        catalogEvents.addEventListener('ressincronizar', scheduleReload);
+    }
+
     // --- Carga Inicial ---
     loadProducts();
 });
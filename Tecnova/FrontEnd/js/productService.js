@@ -13,7 +13,8 @@ class ProductService {
      */
     async #fetchData(url, options = {}) {
         try {
-            const response = await fetch(url, options);
+            // credentials: o cookie de read-your-writes da API (outra origem) só é guardado e reenviado assim
+            const response = await fetch(url, { ...options, credentials: 'include' });
             if (!response.ok) {
                 const errorData = await response.json().catch(() => ({ message: 'Erro desconhecido' }));
                 throw new Error(errorData.message || `Erro na requisição: ${response.status} ${response.statusText}`);
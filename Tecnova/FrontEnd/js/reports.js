@@ -17,7 +17,8 @@ document.addEventListener('DOMContentLoaded', async () => {
      */
     const fetchAllProducts = async () => {
         try {
-            const response = await fetch(API_BASE_URL);
+            // credentials: envia o cookie de read-your-writes da API (outra origem)
+            const response = await fetch(API_BASE_URL, { credentials: 'include' });
             if (!response.ok) {
                 throw new Error(`Erro ao buscar dados: ${response.statusText}`);
             }
@@ -77,13 +78,14 @@ document.addEventListener('DOMContentLoaded', async () => {
     /**
      * Cria os gráficos com os dados processados.
      * @param {Array<object>} products - Lista de produtos.
+     * @returns {{manufacturer: Chart, color: Chart, stock: Chart}}
      */
     const createCharts = (products) => {
         const manufacturerData = processManufacturerData(products);
         const colorData = processColorData(products);
         const topStockData = processTopStockData(products);
 
-        new Chart(manufacturerChartCtx, {
+        const manufacturer = new Chart(manufacturerChartCtx, {
             type: 'bar',
             data: {
                 labels: manufacturerData.labels,
@@ -95,7 +97,7 @@ document.addEventListener('DOMContentLoaded', async () => {
             }
         });
 
-        new Chart(colorChartCtx, {
+        const color = new Chart(colorChartCtx, {
             type: 'doughnut',
             data: {
                 labels: colorData.labels,
@@ -107,7 +109,7 @@ document.addEventListener('DOMContentLoaded', async () => {
             }
         });
 
-        new Chart(stockChartCtx, {
+        const stock = new Chart(stockChartCtx, {
             type: 'bar',
             data: {
                 labels: topStockData.labels,
@@ -121,11 +123,105 @@ document.addEventListener('DOMContentLoaded', async () => {
                 indexAxis: 'y', // Transforma em gráfico de barras horizontais
             }
         });
+        return { manufacturer, color, stock };
+    };
+
+    /**
+     * Atualiza os gráficos existentes com a lista atual, sem recriá-los.
+     * @param {{manufacturer: Chart, color: Chart, stock: Chart}} charts - Gráficos criados por createCharts.
+     * @param {Array<object>} products - Lista de produtos.
+     */
+    const updateCharts = (charts, products) => {
+        [
+            [charts.manufacturer, processManufacturerData(products)],
+            [charts.color, processColorData(products)],
+            [charts.stock, processTopStockData(products)],
+        ].forEach(([chart, { labels, data }]) => {
+            chart.data.labels = labels;
+            chart.data.datasets[0].data = data;
+            chart.update();
+        });
     };
 
     // Inicia o processo
-    const products = await fetchAllProducts();
-    if (products.length > 0) {
-        createCharts(products);
-    }
+    const productsById = new Map((await fetchAllProducts()).map(p => [p.id, p]));
+    let charts = null;
+    const render = () => {
+        const products = [...productsById.values()];
+        if (charts) {
+            updateCharts(charts, products);
+        } else if (products.length > 0) {
+            charts = createCharts(products);
+        }
+    };
+    render();
+
+    // --- Atualização em tempo real (SSE) ---
+    // Os eventos alteram a lista em memória: estoque_alterado e excluido diretamente, criado e atualizado
+    // buscando os produtos em /lote (IDs agrupados). Só ressincronizar busca o catálogo inteiro de novo.
+    // Operações em massa enviam um evento por bloco com os IDs em produtoIds.
+    if (!window.EventSource) return;
+    const LOTE_MAXIMO = 100; // LIMITE_LOTE_MAXIMO do backend
+    let renderTimer = null;
+    const scheduleRender = () => {
+        clearTimeout(renderTimer);
+        renderTimer = setTimeout(render, 300); // Agrupa rajadas (ex.: atualização em massa)
+    };
+
+    const reloadAll = async () => {
+        const products = await fetchAllProducts();
+        productsById.clear();
+        products.forEach(p => productsById.set(p.id, p));
+        render();
+    };
+
+    const pendingIds = new Set();
+    let batchTimer = null;
+    const fetchPending = async () => {
+        const ids = [...pendingIds];
+        pendingIds.clear();
+        for (let i = 0; i < ids.length; i += LOTE_MAXIMO) {
+            const chunk = ids.slice(i, i + LOTE_MAXIMO);
+            try {
+                const response = await fetch(`${API_BASE_URL}/lote?ids=${chunk.join(',')}`, { credentials: 'include' });
+                if (!response.ok) throw new Error(`Erro ${response.status}`);
+                const lote = await response.json();
+                lote.produtos.forEach(p => productsById.set(p.id, p));
+                lote.idsNaoEncontrados.forEach(id => productsById.delete(id));
+            } catch (error) {
+                console.error('Falha ao buscar produtos alterados:', error);
+                reloadAll();
+                return;
+            }
+        }
+        render();
+    };
+    const queueFetch = (ids) => {
+        ids.forEach(id => pendingIds.add(id));
+        clearTimeout(batchTimer);
+        batchTimer = setTimeout(fetchPending, 300);
+    };
+    const eventIds = (evento) => evento.produtoIds ?? [evento.produtoId];
+
+    const catalogEvents = new EventSource(`${API_BASE_URL}/eventos`);
+    const on = (type, handler) => catalogEvents.addEventListener(type, (e) => handler(JSON.parse(e.data)));
+    on('estoque_alterado', ({ produtoId, produtoIds, preco, quantidade }) => {
+        if (produtoIds) { // Lote sem valores: busca os produtos conhecidos
+            queueFetch(produtoIds.filter(id => productsById.has(id)));
+            return;
+        }
+        const product = productsById.get(produtoId);
+        if (!product) return;
+        // null indica que o valor não mudou
+        if (preco != null) product.preco = preco;
+        if (quantidade != null) product.quantidade = quantidade;
+        scheduleRender();
+    });
+    on('excluido', (evento) => {
+        const removidos = eventIds(evento).filter(id => productsById.delete(id));
+        if (removidos.length > 0) scheduleRender();
+    });
+    on('criado', (evento) => queueFetch(eventIds(evento)));
+    on('atualizado', (evento) => queueFetch(eventIds(evento)));
+    catalogEvents.addEventListener('ressincronizar', reloadAll);
 });